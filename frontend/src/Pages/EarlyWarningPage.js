@@ -31,14 +31,18 @@ const EarlyWarningPage = () => {
     const [markers, setMarkers] = useState({});
     const [alerts, setAlerts] = useState([]);
     const [filteredAlerts, setFilteredAlerts] = useState([]);
+    // Cursor of the next page of the current listing (null when it's all loaded) and the filters it belongs to
+    const [nextCursor, setNextCursor] = useState(null);
+    const [activeFilters, setActiveFilters] = useState(null);
 
-    // ✅ 1. Fetch all alerts on load
+    // ✅ 1. Fetch the latest alerts on load
     useEffect(() => {
         const loadAlerts = async () => {
             try {
-                const data = await fetchAllAlerts();
-                setAlerts(data);
-                setFilteredAlerts(data);
+                const page = await fetchAllAlerts();
+                setAlerts(page.items);
+                setFilteredAlerts(page.items);
+                setNextCursor(page.nextCursor);
             } catch (error) {
                 console.error("Failed to fetch alerts:", error);
             }
@@ -78,13 +82,32 @@ const EarlyWarningPage = () => {
     // ✅ 4. When filters change → call backend search
     const handleFilterChange = async (filters) => {
         try {
-            const results = await searchAlerts(filters);
-            setFilteredAlerts(results);
+            const page = await searchAlerts(filters);
+            setFilteredAlerts(page.items);
+            setNextCursor(page.nextCursor);
+            setActiveFilters(filters);
         } catch (error) {
             console.error("Failed to search alerts:", error);
         }
     };
 
+    // ✅ 5. Append the next page of whichever listing is shown
+    const handleLoadMore = async () => {
+        if (!nextCursor) return;
+        try {
+            const page = activeFilters
+                ? await searchAlerts(activeFilters, nextCursor)
+                : await fetchAllAlerts(nextCursor);
+            setFilteredAlerts(prev => [...prev, ...page.items]);
+            if (!activeFilters) {
+                setAlerts(prev => [...prev, ...page.items]);
+            }
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Failed to load more alerts:", error);
+        }
+    };
+
     // Function to create the HTML for the Leaflet popup
     const createPopupContent = (alert) => {
         const type = alert.type.toLowerCase();
@@ -195,6 +218,9 @@ const EarlyWarningPage = () => {
                                 <p>Active Incidents</p>
                             </div>
                             <AlertList alerts={filteredAlerts} onAlertClick={handleAlertItemClick} getAlertIcon={getAlertIcon} />
+                            {nextCursor && (
+                                <button className="load-more-btn" onClick={handleLoadMore}>Load more alerts</button>
+                            )}
                         </div>
                         <div className="info-card">
                             <h2>Support Contacts</h2>
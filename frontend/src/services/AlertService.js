@@ -1,8 +1,21 @@
 const API_URL = 'http://localhost:8080/api/alerts';
 
-export const fetchAllAlerts = async () => {
+// Listings come a page at a time, newest first: { items, size, nextCursor }.
+// Pass nextCursor back to get the following page; it is null on the last one.
+const PAGE_SIZE = 200;
+
+const appendPage = (params, cursor) => {
+    params.append('size', PAGE_SIZE);
+    if (cursor) {
+        params.append('cursor', cursor);
+    }
+};
+
+export const fetchAllAlerts = async (cursor = null) => {
     try {
-        const response = await fetch(API_URL);
+        const params = new URLSearchParams();
+        appendPage(params, cursor);
+        const response = await fetch(`${API_URL}?${params.toString()}`);
         if (!response.ok) {
             throw new Error(`HTTP error! Status: ${response.status}`);
         }
@@ -13,7 +26,7 @@ export const fetchAllAlerts = async () => {
     }
 };
 
-export const searchAlerts = async (filters) => {
+export const searchAlerts = async (filters, cursor = null) => {
     try {
         const params = new URLSearchParams();
 
@@ -35,6 +48,8 @@ export const searchAlerts = async (filters) => {
             params.append('endDate', `${filters.endDate}T23:59:59`);
         }
 
+        appendPage(params, cursor);
+
         const url = `${API_URL}/search?${params.toString()}`;
         const response = await fetch(url);
 
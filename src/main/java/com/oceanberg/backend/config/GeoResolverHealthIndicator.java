@@ -0,0 +1,33 @@
+package com.oceanberg.backend.config;
+
+import com.oceanberg.backend.service.GeoResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the district resolver as OUT_OF_SERVICE while it is still loading or seeding, so
+ * readiness probes hold traffic until reverse-geocoding is warm.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeoResolverHealthIndicator implements HealthIndicator {
+
+    private final GeoResolver geoResolver;
+
+    @Override
+    public Health health() {
+        if (!geoResolver.isReady()) {
+            return Health.outOfService().withDetail("districtIndex", "loading").build();
+        }
+        Throwable failure = geoResolver.loadFailure();
+        if (failure != null) {
+            return Health.down(failure).withDetail("districtIndex", "failed").build();
+        }
+        return Health.up()
+                .withDetail("districtIndex", "ready")
+                .withDetail("districts", geoResolver.districtCount())
+                .build();
+    }
+}
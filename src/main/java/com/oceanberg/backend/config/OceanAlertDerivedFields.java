@@ -0,0 +1,18 @@
+package com.oceanberg.backend.config;
+
+import com.oceanberg.backend.model.OceanAlert;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps an alert's search keys and GeoJSON location in step with its display values and
+ * coordinates on every save and insert through MongoTemplate or a repository.
+ */
+@Component
+public class OceanAlertDerivedFields implements BeforeConvertCallback<OceanAlert> {
+
+    @Override
+    public OceanAlert onBeforeConvert(OceanAlert alert, String collection) {
+        return alert.withSearchKeys().withLocation();
+    }
+}
@@ -1,61 +1,142 @@
 package com.oceanberg.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oceanberg.backend.dto.AlertPage;
 import com.oceanberg.backend.model.OceanAlert;
-import com.oceanberg.backend.repository.OceanAlertRepository;
 import com.oceanberg.backend.service.OceanAlertQueryService;
+import com.oceanberg.backend.util.StreamingJsonWriter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.stream.Stream;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/alerts")
 @RequiredArgsConstructor
 public class AlertController {
 
-    private final OceanAlertRepository repository;
     private final OceanAlertQueryService queryService;
+    private final ObjectMapper objectMapper;
 
-    // ✅ Get all alerts
+    // ✅ Get all alerts, newest first, a page at a time (pass nextCursor back as cursor)
     @GetMapping
-    public List<OceanAlert> getAllAlerts() {
-        return repository.findAll();
+    public AlertPage getAllAlerts(@RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size) {
+        return queryService.listAlerts(cursor, size);
     }
 
     // ✅ Get alerts by type
     @GetMapping("/type/{type}")
-    public List<OceanAlert> getByType(@PathVariable String type) {
-        return repository.findByType(type);
+    public AlertPage getByType(@PathVariable String type,
+                               @RequestParam(required = false) String cursor,
+                               @RequestParam(required = false) Integer size) {
+        return queryService.listByType(type, cursor, size);
     }
 
     // Get alerts by district
     @GetMapping("/district/{district}")
-    public List<OceanAlert> getByDistrict(@PathVariable String district) {
-        return repository.findByDistrict(district);
+    public AlertPage getByDistrict(@PathVariable String district,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer size) {
+        return queryService.listByDistrict(district, cursor, size);
     }
 
     // Get alerts by state
     @GetMapping("/state/{state}")
-    public List<OceanAlert> getByState(@PathVariable String state) {
-        return repository.findByState(state);
+    public AlertPage getByState(@PathVariable String state,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer size) {
+        return queryService.listByState(state, cursor, size);
     }
 
     // ✅ Search with multiple query parameters
    @GetMapping("/search")
-    public List<OceanAlert> search(
+    public AlertPage search(
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String districtOrState, // updated
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            @RequestParam(required = false) String color // updated
+            @RequestParam(required = false) String color, // updated
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
-        return queryService.searchAlerts(type, districtOrState, startDate, endDate, color);
+        return queryService.searchAlerts(type, districtOrState, startDate, endDate, color, cursor, size);
     }
 
+    // ✅ Alerts within radiusKm of a point, newest first, with the search filters
+    @GetMapping("/near")
+    public AlertPage near(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "50") double radiusKm,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return queryService.listNear(lat, lon, radiusKm, type, startDate, endDate, color, cursor, size);
+    }
+
+    // ✅ Alerts inside a map viewport (south/west/north/east in degrees), newest first, with the search filters
+    @GetMapping("/within")
+    public AlertPage within(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return queryService.listWithin(south, west, north, east, type, startDate, endDate, color, cursor, size);
+    }
+
+    // ✅ Whole search result, streamed as it is read: NDJSON, or SSE when asked for text/event-stream
+    @GetMapping(value = "/search/stream", produces = {"application/x-ndjson", MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> searchStream(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String districtOrState,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String color,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        boolean sse = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        StreamingJsonWriter.Format format = sse ? StreamingJsonWriter.Format.SSE : StreamingJsonWriter.Format.NDJSON;
+
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            try (Stream<OceanAlert> alerts = queryService.streamSearch(type, districtOrState, startDate, endDate, color)) {
+                long rows = StreamingJsonWriter.write(alerts.iterator(), out, objectMapper, format);
+                log.info("Streamed {} alerts as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(body);
+    }
 
     /* ✅ Get high severity alerts
     @GetMapping("/high-severity")
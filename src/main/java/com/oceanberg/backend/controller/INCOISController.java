@@ -1,9 +1,13 @@
 package com.oceanberg.backend.controller;
 
+import com.oceanberg.backend.dto.SyntheticJob;
 import com.oceanberg.backend.service.INCOISService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/incois")
 @RequiredArgsConstructor
@@ -41,6 +45,34 @@ public class INCOISController {
         return "Cyclone track fetched";
     }
 
+    @PostMapping("/backfill/districts")
+    public String backfillDistricts() {
+        int updated = incoisService.backfillDistricts();
+        return "District backfill complete: " + updated + " alerts updated";
+    }
+
+    // Runs in the background: poll the returned job (also at the Location header) for progress
+    @PostMapping("/synthetic")
+    public ResponseEntity<SyntheticJob> generateSyntheticAlerts(@RequestParam(defaultValue = "100000") long count,
+                                                                @RequestParam(defaultValue = "42") long seed,
+                                                                @RequestParam(defaultValue = "30") int days) {
+        SyntheticJob job = incoisService.generateSyntheticAlerts(seed, count, days);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/incois/synthetic/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/synthetic/{jobId}")
+    public ResponseEntity<SyntheticJob> syntheticJob(@PathVariable String jobId) {
+        return ResponseEntity.of(incoisService.syntheticJob(jobId));
+    }
+
+    @DeleteMapping("/synthetic")
+    public String deleteSyntheticAlerts() {
+        long deleted = incoisService.deleteSyntheticAlerts();
+        return "Synthetic data deleted: " + deleted + " alerts removed";
+    }
+
     @DeleteMapping("/alerts")
     public String deleteAllAlerts() {
         incoisService.deleteAllAlerts();
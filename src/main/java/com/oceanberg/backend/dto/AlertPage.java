@@ -0,0 +1,19 @@
+package com.oceanberg.backend.dto;
+
+import com.oceanberg.backend.model.OceanAlert;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of an alert listing, newest first. {@code nextCursor} is passed back as
+ * {@code cursor} for the following page and is null on the last one.
+ */
+@Data
+@Builder
+public class AlertPage {
+    private List<OceanAlert> items;
+    private int size;
+    private String nextCursor;
+}
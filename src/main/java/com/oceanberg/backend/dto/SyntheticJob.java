@@ -0,0 +1,27 @@
+package com.oceanberg.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A synthetic-alert run started by {@code POST /api/incois/synthetic}, polled at
+ * {@code GET /api/incois/synthetic/{id}}. Each state of a run is a fresh copy, never updated in place.
+ */
+@Data
+@Builder(toBuilder = true)
+public class SyntheticJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private String id;
+    private Status status;
+    private long seed;
+    private long count;
+    private int days;
+    private long stored;            // so far while running
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
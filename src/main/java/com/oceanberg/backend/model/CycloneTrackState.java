@@ -0,0 +1,22 @@
+package com.oceanberg.backend.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Ingestion high-water mark of one storm's track: points at or before it are already stored
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "cyclone_track_state")
+public class CycloneTrackState {
+
+    @Id
+    private String storm;                 // Storm name, e.g. FENGAL
+
+    private LocalDateTime lastPointTime;  // Date_Time of the newest stored track point
+    private LocalDateTime updatedAt;
+}
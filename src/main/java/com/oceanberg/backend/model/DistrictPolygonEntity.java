@@ -1,12 +1,15 @@
 package com.oceanberg.backend.model;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.geo.GeoJsonMultiPolygon;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document("district_polygons")
+@CompoundIndex(name = "state_district", def = "{'stateKey': 1, 'districtKey': 1}")
 public class DistrictPolygonEntity {
 
     @Id
@@ -15,23 +18,45 @@ public class DistrictPolygonEntity {
     private String district;
     private String state;
 
+    // Normalized (trimmed, single-spaced, upper-case) names for centroid lookups
+    private String districtKey;
+    private String stateKey;
+
     @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
-    private GeoJsonPolygon polygon;
+    private GeoJsonMultiPolygon polygon;
+
+    private GeoJsonPoint centroid;
+    private double area;            // planar, in square degrees; weights the state centroid
 
     public DistrictPolygonEntity() {}
 
-    public DistrictPolygonEntity(String district, String state, GeoJsonPolygon polygon) {
+    public DistrictPolygonEntity(String district, String state, GeoJsonMultiPolygon polygon) {
         this.district = district;
         this.state = state;
         this.polygon = polygon;
     }
 
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
     public String getDistrict() { return district; }
     public void setDistrict(String district) { this.district = district; }
 
     public String getState() { return state; }
     public void setState(String state) { this.state = state; }
 
-    public GeoJsonPolygon getPolygon() { return polygon; }
-    public void setPolygon(GeoJsonPolygon polygon) { this.polygon = polygon; }
+    public String getDistrictKey() { return districtKey; }
+    public void setDistrictKey(String districtKey) { this.districtKey = districtKey; }
+
+    public String getStateKey() { return stateKey; }
+    public void setStateKey(String stateKey) { this.stateKey = stateKey; }
+
+    public GeoJsonMultiPolygon getPolygon() { return polygon; }
+    public void setPolygon(GeoJsonMultiPolygon polygon) { this.polygon = polygon; }
+
+    public GeoJsonPoint getCentroid() { return centroid; }
+    public void setCentroid(GeoJsonPoint centroid) { this.centroid = centroid; }
+
+    public double getArea() { return area; }
+    public void setArea(double area) { this.area = area; }
 }
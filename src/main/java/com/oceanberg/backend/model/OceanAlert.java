@@ -1,11 +1,15 @@
 package com.oceanberg.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Data
 @NoArgsConstructor
@@ -14,6 +18,8 @@ import java.util.Map;
 @Document(collection = "ocean_alerts")
 public class OceanAlert {
 
+    private static final Pattern WHITESPACE = Pattern.compile("(?U)\\s+");
+
     @Id
     private String id;
 
@@ -23,7 +29,7 @@ public class OceanAlert {
     private String state;           // State/UT
     private String color;           // Yellow / Orange / Red
     private String message;         // Advisory text
-    private String source;          // INCOIS / MOCK_INCOIS
+    private String source;          // INCOIS / MOCK_INCOIS / SYNTHETIC
 
     private LocalDateTime issueDate;
     private LocalDateTime startTime;
@@ -33,6 +39,60 @@ public class OceanAlert {
     private Double latitude;
     private Double longitude;
 
+    // latitude/longitude as a GeoJSON point for the 2dsphere index, set on every write; absent
+    // without a usable position (see OceanAlertQueryService for the geo queries)
+    @JsonIgnore
+    private GeoJsonPoint location;
+
+    // Identity of the advisory for idempotent upserts; unique index ensured by AlertPersistenceService
+    private String fingerprint;
+
     // Flexible hazard-specific values
     private Map<String, String> details;
+
+    // Search keys: type/color/district/state lower-cased and whitespace-collapsed, set on every
+    // write, so case-insensitive search is an equality match on an index (see OceanAlertQueryService)
+    @JsonIgnore
+    private String typeKey;
+    @JsonIgnore
+    private String colorKey;
+    @JsonIgnore
+    private String districtKey;
+    @JsonIgnore
+    private String stateKey;
+
+    /**
+     * Derives the search keys from the current type, color, district and state.
+     */
+    public OceanAlert withSearchKeys() {
+        typeKey = searchKey(type);
+        colorKey = searchKey(color);
+        districtKey = searchKey(district);
+        stateKey = searchKey(state);
+        return this;
+    }
+
+    /**
+     * Derives the location from the current latitude and longitude; none when either is missing
+     * or out of range, or for (0, 0), which is what an unresolvable district gets as centroid.
+     */
+    public OceanAlert withLocation() {
+        location = isPosition(latitude, longitude) ? new GeoJsonPoint(longitude, latitude) : null;
+        return this;
+    }
+
+    private static boolean isPosition(Double lat, Double lon) {
+        if (lat == null || lon == null) return false;
+        if (lat == 0 && lon == 0) return false;
+        return lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180;
+    }
+
+    /**
+     * Canonical form of a searchable value: whitespace runs (any Unicode white space, tabs and
+     * no-break spaces included) collapsed to one space, trimmed, lower case.
+     */
+    public static String searchKey(String value) {
+        if (value == null) return null;
+        return WHITESPACE.matcher(value).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,9 @@
+package com.oceanberg.backend.repository;
+
+import com.oceanberg.backend.model.CycloneTrackState;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CycloneTrackStateRepository extends MongoRepository<CycloneTrackState, String> {
+}
@@ -0,0 +1,16 @@
+package com.oceanberg.backend.repository;
+
+import com.oceanberg.backend.model.DistrictPolygonEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DistrictPolygonRepository extends MongoRepository<DistrictPolygonEntity, String> {
+
+    List<DistrictPolygonEntity> findByStateKey(String stateKey);
+
+    Optional<DistrictPolygonEntity> findFirstByStateKeyAndDistrictKey(String stateKey, String districtKey);
+}
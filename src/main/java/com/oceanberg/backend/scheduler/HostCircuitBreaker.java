@@ -0,0 +1,54 @@
+package com.oceanberg.backend.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker for one feed host. After {@code failureThreshold}
+ * failures in a row the circuit opens and fetches are skipped for {@code openFor}; then one
+ * trial fetch is let through, which closes the circuit on success or reopens it on failure.
+ */
+final class HostCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openForNanos;
+
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private boolean open;
+
+    HostCircuitBreaker(int failureThreshold, Duration openFor) {
+        this.failureThreshold = failureThreshold;
+        this.openForNanos = openFor.toNanos();
+    }
+
+    /**
+     * Whether a fetch may go ahead now: the circuit is closed, or open long enough for a trial.
+     */
+    synchronized boolean allowRequest() {
+        return !open || System.nanoTime() - openUntilNanos >= 0;
+    }
+
+    /**
+     * How long until an open circuit admits a trial fetch; zero when closed.
+     */
+    synchronized Duration remainingOpen() {
+        return open ? Duration.ofNanos(Math.max(0, openUntilNanos - System.nanoTime())) : Duration.ZERO;
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        open = false;
+    }
+
+    synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (open || consecutiveFailures >= failureThreshold) {
+            open = true;
+            openUntilNanos = System.nanoTime() + openForNanos;
+        }
+    }
+
+    synchronized boolean isOpen() {
+        return open;
+    }
+}
@@ -1,29 +1,194 @@
 package com.oceanberg.backend.scheduler;
 
-import com.oceanberg.backend.service.INCOISService;
-import lombok.RequiredArgsConstructor;
+import com.oceanberg.backend.service.FeedResult;
+import com.oceanberg.backend.service.IngestionPipeline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Polls each INCOIS feed on its own cadence. A feed that produced new alerts is polled again
+ * at its active rate; a quiet feed backs off exponentially up to its ceiling, and a failing
+ * one backs off from its base interval. Every delay is jittered so feeds don't fall into
+ * step, hosts that keep failing are circuit-broken, and all feed work runs on a small
+ * dedicated pool rather than request threads.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "incois.scheduler.enabled", havingValue = "true")
 public class INCOISScheduler {
 
-    private final INCOISService service;
+    private static final double JITTER = 0.2;                       // ±20%
+    private static final int BREAKER_FAILURES = 3;
+    private static final Duration BREAKER_OPEN_FOR = Duration.ofMinutes(10);
+
+    // Per feed: active, base and ceiling poll intervals
+    private static final Map<String, Duration[]> CADENCES = Map.of(
+            "tsunami", new Duration[]{Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(30)},
+            "cyclone", new Duration[]{Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofHours(1)},
+            "high_wave", new Duration[]{Duration.ofMinutes(10), Duration.ofMinutes(15), Duration.ofHours(1)},
+            "currents", new Duration[]{Duration.ofMinutes(10), Duration.ofMinutes(15), Duration.ofHours(1)}
+    );
+    private static final Duration[] DEFAULT_CADENCE = {Duration.ofMinutes(15), Duration.ofMinutes(15), Duration.ofHours(1)};
+
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, HostCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<FeedSchedule> feeds;
+
+    public INCOISScheduler(IngestionPipeline pipeline, MeterRegistry meterRegistry,
+                           @Value("${incois.scheduler.threads:2}") int threads) {
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread t = new Thread(r, "incois-feed-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+
+        this.feeds = new ArrayList<>();
+        for (String feed : pipeline.feeds()) {
+            Duration[] cadence = CADENCES.getOrDefault(feed, DEFAULT_CADENCE);
+            feeds.add(new FeedSchedule(feed, pipeline.adapter(feed).url(), () -> pipeline.run(feed),
+                    cadence[0], cadence[1], cadence[2]));
+        }
+        for (FeedSchedule feed : feeds) {
+            Gauge.builder("incois.scheduler.next.delay", feed, f -> f.nextDelay.toMillis())
+                    .tag("feed", feed.name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("Starting INCOIS feed scheduler for {} feeds", feeds.size());
+        for (FeedSchedule feed : feeds) {
+            // Spread the first polls over half a minute
+            schedule(feed, Duration.ofMillis(ThreadLocalRandom.current().nextLong(30_000)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
 
-    // Scheduled to run every 15 minutes
-    @Scheduled(fixedRate = 15 * 60 * 1000)
-    public void fetchFeeds() {
-        log.info("Starting scheduled INCOIS data fetch...");
+    private void schedule(FeedSchedule feed, Duration delay) {
+        if (executor.isShutdown()) return;
+        executor.schedule(() -> run(feed), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
 
+    // Always reschedules: an Error escaping the poll would otherwise stop this feed for good
+    private void run(FeedSchedule feed) {
+        Duration next = feed.ceiling;
         try {
-            service.fetchAllAlerts();  // fetch Cyclone, High Wave, Currents, Tsunami in bulk
-        } catch (Exception e) {
-            log.error("Error during INCOIS data fetch", e);
+            next = poll(feed);
+        } catch (Error e) {
+            log.error("Polling {} failed; backing off to {}", feed.name, next, e);
+            record(feed, "failed");
+            throw e;
+        } finally {
+            Duration jittered = jitter(next);
+            log.debug("Next {} poll in {}", feed.name, jittered);
+            schedule(feed, jittered);
+        }
+    }
+
+    // Un-jittered delay before the next poll
+    private Duration poll(FeedSchedule feed) {
+        HostCircuitBreaker breaker = breakers.computeIfAbsent(feed.host,
+                h -> new HostCircuitBreaker(BREAKER_FAILURES, BREAKER_OPEN_FOR));
+
+        Duration next;
+        if (!breaker.allowRequest()) {
+            record(feed, "circuit_open");
+            next = breaker.remainingOpen();
+        } else {
+            FeedResult result;
+            try {
+                result = feed.fetch.get();
+            } catch (Exception e) {
+                result = FeedResult.failed(e);
+            }
+
+            if (result.isFailed()) {
+                breaker.recordFailure();
+                if (breaker.isOpen()) log.warn("Circuit open for {} after repeated failures", feed.host);
+            } else {
+                breaker.recordSuccess();
+            }
+            record(feed, result.isFailed() ? "failed" : result.isQuiet() ? "quiet" : "new_alerts");
+            next = feed.afterRun(result);
+        }
+        return next;
+    }
+
+    private void record(FeedSchedule feed, String outcome) {
+        meterRegistry.counter("incois.scheduler.runs", "feed", feed.name, "outcome", outcome).increment();
+    }
+
+    private static Duration jitter(Duration delay) {
+        double factor = 1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Duration.ofMillis((long) (delay.toMillis() * factor));
+    }
+
+    private static final class FeedSchedule {
+        final String name;
+        final String host;
+        final Supplier<FeedResult> fetch;
+        final Duration active;
+        final Duration base;
+        final Duration ceiling;
+
+        // Only touched from the feed's own (sequential) runs; read by the gauge
+        volatile Duration nextDelay;
+        int failures;
+
+        FeedSchedule(String name, String url, Supplier<FeedResult> fetch, Duration active, Duration base, Duration ceiling) {
+            this.name = name;
+            this.host = URI.create(url).getHost();
+            this.fetch = fetch;
+            this.active = active;
+            this.base = base;
+            this.ceiling = ceiling;
+            this.nextDelay = base;
+        }
+
+        // Un-jittered delay before the next poll given this run's outcome
+        Duration afterRun(FeedResult result) {
+            if (result.isFailed()) {
+                failures++;
+                nextDelay = min(base.multipliedBy(1L << Math.min(failures - 1, 16)), ceiling);
+            } else {
+                failures = 0;
+                nextDelay = result.isQuiet() ? min(nextDelay.multipliedBy(2), ceiling) : active;
+            }
+            return nextDelay;
         }
 
-        log.info("Scheduled INCOIS data fetch completed.");
+        private static Duration min(Duration a, Duration b) {
+            return a.compareTo(b) <= 0 ? a : b;
+        }
     }
 }
@@ -0,0 +1,125 @@
+package com.oceanberg.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oceanberg.backend.model.OceanAlert;
+import com.oceanberg.backend.util.JsonArrayStreamer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * INCOIS mobile-app advisory feeds (high wave, currents): a JSON array serialized into one
+ * string field, each advisory naming its coast in free text ("... for the coast of X, Y."),
+ * sometimes several districts at once.
+ * <p>
+ * Alerts are stamped with the advisory's own "Issue Date", which is part of the fingerprint,
+ * so an advisory repeated unchanged across polls is stored once.
+ */
+@Slf4j
+abstract class AdvisoryFeedAdapter implements FeedAdapter<JsonNode> {
+
+    // "Issue Date" layouts, with a time of day or without (then the start of that day)
+    private static final List<DateTimeFormatter> ISSUE_TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("HH:mm 'hours on' dd-MM-yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm", Locale.ENGLISH)
+    );
+    private static final List<DateTimeFormatter> ISSUE_DAY_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("dd-MM-yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd-MMM-yyyy", Locale.ENGLISH)
+    );
+
+    private final FeedClient feedClient;
+    private final AdvisoryLocator advisoryLocator;
+    private final String type;
+    private final String dataField;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    AdvisoryFeedAdapter(FeedClient feedClient, AdvisoryLocator advisoryLocator, String type, String dataField) {
+        this(feedClient, advisoryLocator, type, dataField, Clock.systemDefaultZone());
+    }
+
+    AdvisoryFeedAdapter(FeedClient feedClient, AdvisoryLocator advisoryLocator, String type, String dataField, Clock clock) {
+        this.clock = clock;
+        this.feedClient = feedClient;
+        this.advisoryLocator = advisoryLocator;
+        this.type = type;
+        this.dataField = dataField;
+    }
+
+    @Override
+    public Flux<JsonNode> fetch() {
+        return JsonArrayStreamer.elements(feedClient.stream(name(), url()), dataField, objectMapper);
+    }
+
+    // One alert per district the advisory names
+    @Override
+    public List<OceanAlert> toAlerts(JsonNode node) {
+        String message = node.path("Message").asText();
+        LocalDateTime issued = issueDate(node.path("Issue Date").asText("").trim());
+
+        List<OceanAlert> alerts = new ArrayList<>();
+        for (String[] districtState : advisoryLocator.locate(message)) {
+            alerts.add(OceanAlert.builder()
+                    .type(type)
+                    .district(districtState[0])
+                    .state(districtState[1])
+                    .color(node.path("Color").asText())
+                    .message(message)
+                    .source("INCOIS")
+                    .issueDate(issued)
+                    .details(Map.of(
+                            "alert", node.path("Alert").asText(),
+                            "issue_date", node.path("Issue Date").asText()
+                    ))
+                    .build());
+        }
+        return alerts;
+    }
+
+    // The advisory's issue time; now only when the feed doesn't give one we can read
+    private LocalDateTime issueDate(String text) {
+        if (text.isEmpty()) return LocalDateTime.now(clock);
+        LocalDateTime parsed = parseIssueDate(text);
+        if (parsed == null) {
+            log.warn("Unreadable {} advisory Issue Date '{}'; stamping it now", type, text);
+            return LocalDateTime.now(clock);
+        }
+        return parsed;
+    }
+
+    static LocalDateTime parseIssueDate(String text) {
+        for (DateTimeFormatter format : ISSUE_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next layout
+            }
+        }
+        for (DateTimeFormatter format : ISSUE_DAY_FORMATS) {
+            try {
+                return LocalDate.parse(text, format).atStartOfDay();
+            } catch (DateTimeParseException ignored) {
+                // try the next layout
+            }
+        }
+        return null;
+    }
+}
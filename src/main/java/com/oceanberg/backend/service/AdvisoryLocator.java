@@ -0,0 +1,49 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.util.DistrictGazetteer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Places named in advisory text, matched against the gazetteer of the resolver's districts.
+ * The gazetteer is compiled on first use, once the boundary dataset has loaded.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdvisoryLocator {
+
+    private final GeoResolver geoResolver;
+
+    private volatile DistrictGazetteer gazetteer;
+
+    /**
+     * Every {district, state} the message mentions, or a single {"UNKNOWN", "UNKNOWN"}.
+     */
+    public List<String[]> locate(String message) {
+        List<String[]> places = gazetteer().find(message);
+        return places.isEmpty() ? List.<String[]>of(new String[]{"UNKNOWN", "UNKNOWN"}) : places;
+    }
+
+    private DistrictGazetteer gazetteer() {
+        DistrictGazetteer g = gazetteer;
+        if (g == null) {
+            synchronized (this) {
+                g = gazetteer;
+                if (g == null) {
+                    List<String[]> districts = geoResolver.districts();
+                    g = DistrictGazetteer.build(districts);
+                    // Don't keep an empty gazetteer built before the boundaries were loaded
+                    if (!districts.isEmpty()) {
+                        gazetteer = g;
+                        log.info("Compiled advisory gazetteer: {} names from {} districts", g.size(), districts.size());
+                    }
+                }
+            }
+        }
+        return g;
+    }
+}
@@ -0,0 +1,99 @@
+package com.oceanberg.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprints of alerts stored in the last few hours. Feeds mostly repeat the previous
+ * cycle, so checking here first lets most repeats skip Mongo altogether. Entries expire a
+ * fixed window after they were recorded; a miss only means "ask the database".
+ */
+@Slf4j
+@Component
+public class AlertFingerprintCache {
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration window;
+    private final Cache<String, Boolean> seen;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AlertFingerprintCache(MongoTemplate mongoTemplate,
+                                 @Value("${incois.dedup.window-hours:6}") long windowHours,
+                                 @Value("${incois.dedup.max-entries:50000}") long maxEntries,
+                                 MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.window = Duration.ofHours(windowHours);
+        this.seen = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxEntries)
+                .build();
+        this.hits = Counter.builder("incois.dedup.lookups").tag("result", "hit")
+                .description("Alerts recognised as already stored without a database query")
+                .register(meterRegistry);
+        this.misses = Counter.builder("incois.dedup.lookups").tag("result", "miss")
+                .description("Alerts that had to be sent to the database")
+                .register(meterRegistry);
+        Gauge.builder("incois.dedup.hit.ratio", this, AlertFingerprintCache::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("incois.dedup.size", seen, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            Query recent = Query.query(Criteria.where("issueDate").gte(LocalDateTime.now().minus(window))
+                    .and("fingerprint").exists(true));
+            recent.fields().include("fingerprint").exclude("_id");
+
+            // Through the template, so issueDate is converted like the stored values (system zone)
+            int[] loaded = {0};
+            try (Stream<OceanAlert> alerts = mongoTemplate.stream(recent, OceanAlert.class)) {
+                alerts.forEach(alert -> {
+                    seen.put(alert.getFingerprint(), Boolean.TRUE);
+                    loaded[0]++;
+                });
+            }
+            log.info("Warmed alert dedup cache with {} fingerprints from the last {}", loaded[0], window);
+        } catch (Exception e) {
+            log.warn("Could not warm alert dedup cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether an alert with this fingerprint was stored within the window, recording the
+     * outcome in the hit/miss counters.
+     */
+    public boolean contains(String fingerprint) {
+        boolean hit = seen.getIfPresent(fingerprint) != null;
+        (hit ? hits : misses).increment();
+        return hit;
+    }
+
+    public void addAll(Collection<String> fingerprints) {
+        for (String fingerprint : fingerprints) seen.put(fingerprint, Boolean.TRUE);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
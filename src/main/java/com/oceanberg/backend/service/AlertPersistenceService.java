@@ -0,0 +1,133 @@
+package com.oceanberg.backend.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores alerts idempotently. Every alert carries a fingerprint of what makes it the same
+ * advisory (type, place, colour, position and issue hour); a unique index on that field lets
+ * a whole feed cycle go out as one unordered bulk upsert that only inserts unseen alerts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertPersistenceService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AlertFingerprintCache recentFingerprints;
+    private final AlertQueryCache queryCache;
+    private final MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureFingerprintIndex() {
+        try {
+            // Sparse: alerts stored before fingerprints existed don't have one
+            mongoTemplate.indexOps(OceanAlert.class).createIndex(
+                    new Index("fingerprint", Sort.Direction.ASC).named("fingerprint").unique().sparse());
+        } catch (Exception e) {
+            log.warn("Could not ensure the ocean_alerts fingerprint index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Upserts the alerts in one round trip, inserting those whose fingerprint isn't stored yet
+     * and leaving existing ones untouched. Alerts recently stored are dropped beforehand from
+     * the in-process fingerprint cache; if that leaves nothing, the database isn't touched.
+     * Returns the number of alerts inserted.
+     */
+    public int saveNew(List<OceanAlert> alerts) {
+        if (alerts.isEmpty()) return 0;
+
+        Map<String, OceanAlert> unseen = new LinkedHashMap<>();
+        for (OceanAlert alert : alerts) {
+            alert.setFingerprint(fingerprint(alert));
+            if (!recentFingerprints.contains(alert.getFingerprint())) {
+                unseen.putIfAbsent(alert.getFingerprint(), alert);
+            }
+        }
+        meterRegistry.summary("incois.dedup.skipped.per.batch").record(alerts.size() - unseen.size());
+        if (unseen.isEmpty()) {
+            meterRegistry.counter("incois.dedup.bulk.avoided").increment();
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OceanAlert.class);
+        unseen.forEach((fingerprint, alert) ->
+                bulk.upsert(Query.query(Criteria.where("fingerprint").is(fingerprint)), insertOnly(alert)));
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            // Two concurrent upserts of one fingerprint: the loser hits the unique index, and
+            // the alert is stored all the same. Anything else is a real failure.
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+            result = e.getResult();
+        }
+
+        // Stored now either way: inserted by this bulk or already there
+        recentFingerprints.addAll(unseen.keySet());
+        if (!result.getUpserts().isEmpty()) queryCache.alertsChanged();
+        return result.getUpserts().size();
+    }
+
+    // $setOnInsert of every mapped field, so a repeat of a stored alert is a no-op
+    private Update insertOnly(OceanAlert alert) {
+        // Written through the converter, so the entity callback that sets these doesn't run
+        alert.withSearchKeys().withLocation();
+        Document doc = new Document();
+        mongoTemplate.getConverter().write(alert, doc);
+        doc.remove("_id");
+        doc.remove("_class");
+
+        Update update = new Update();
+        doc.forEach(update::setOnInsert);
+        return update;
+    }
+
+    /**
+     * Deterministic id of an advisory: type, district, state, colour, position (to ~10 m) and
+     * the hour it was issued in, hashed to a fixed-width key.
+     */
+    public static String fingerprint(OceanAlert alert) {
+        LocalDateTime hour = alert.getIssueDate() == null ? null : alert.getIssueDate().truncatedTo(ChronoUnit.HOURS);
+        String key = String.join("|",
+                String.valueOf(alert.getType()),
+                String.valueOf(alert.getDistrict()),
+                String.valueOf(alert.getState()),
+                String.valueOf(alert.getColor()).toUpperCase(Locale.ROOT),
+                coordinate(alert.getLatitude()),
+                coordinate(alert.getLongitude()),
+                String.valueOf(hour));
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static String coordinate(Double value) {
+        return value == null ? "" : String.format(Locale.ROOT, "%.4f", value);
+    }
+}
@@ -0,0 +1,97 @@
+package com.oceanberg.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.oceanberg.backend.dto.AlertPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pages of alert queries, kept until the stored alerts change. Every write to ocean_alerts
+ * calls {@link #alertsChanged()}, which bumps a version that is part of every key: a page read
+ * while alerts were being written is stored under the old version and never served again.
+ * <p>
+ * Concurrent requests for the same page share one database read. Bounded by the number of
+ * alerts held, and expired after a while for writes made outside this process.
+ */
+@Component
+public class AlertQueryCache {
+
+    record Key(long version, String query, int limit) {
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private final AsyncCache<Key, AlertPage> pages;
+    private final Counter invalidations;
+
+    public AlertQueryCache(@Value("${alerts.cache.max-alerts:50000}") long maxAlerts,
+                           @Value("${alerts.cache.expire-minutes:5}") long expireMinutes,
+                           MeterRegistry meterRegistry) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxAlerts)
+                .weigher((Key key, AlertPage page) -> page.getSize() + 1)
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "alerts.query");
+        Gauge.builder("alerts.query.cache.hit.ratio", pages, cache -> cache.synchronous().stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("alerts.query.cache.version", version, AtomicLong::get)
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("alerts.query.cache.invalidations")
+                .description("Times stored alerts changed and cached query pages were dropped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached page of this query (its JSON) and limit, or the loader's, stored for the next
+     * caller. A failed load is not cached; the failure goes to every caller waiting on it.
+     */
+    public AlertPage get(String query, int limit, Supplier<AlertPage> loader) {
+        CompletableFuture<AlertPage> loading = new CompletableFuture<>();
+        CompletableFuture<AlertPage> page = pages.get(new Key(version.get(), query, limit), (key, executor) -> loading);
+        if (page == loading) {
+            // Ours to load, on the caller's thread
+            try {
+                loading.complete(loader.get());
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Stored alerts were inserted, updated or deleted: no page cached so far is served again.
+     */
+    public void alertsChanged() {
+        version.incrementAndGet();
+        pages.synchronous().invalidateAll();
+        invalidations.increment();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    CacheStats stats() {
+        return pages.synchronous().stats();
+    }
+}
@@ -0,0 +1,43 @@
+package com.oceanberg.backend.service;
+
+import java.util.List;
+
+/**
+ * A coastal district as advisories name it, with a point on its shore. Used for mock and
+ * synthetic alerts.
+ */
+record CoastalLocation(String district, String state, double latitude, double longitude) {
+
+    // Along the coastline: Gujarat down the west coast, round Kanyakumari, up to West Bengal
+    static final List<CoastalLocation> COASTAL_LOCATIONS = List.of(
+            new CoastalLocation("Kutch", "Gujarat", 22.83, 69.35),
+            new CoastalLocation("Jamnagar", "Gujarat", 22.47, 70.06),
+            new CoastalLocation("Porbandar", "Gujarat", 21.64, 69.60),
+            new CoastalLocation("Mumbai", "Maharashtra", 18.94, 72.82),
+            new CoastalLocation("Raigad", "Maharashtra", 18.64, 72.87),
+            new CoastalLocation("Ratnagiri", "Maharashtra", 16.99, 73.30),
+            new CoastalLocation("North Goa", "Goa", 15.55, 73.75),
+            new CoastalLocation("South Goa", "Goa", 15.20, 73.93),
+            new CoastalLocation("Karwar", "Karnataka", 14.81, 74.13),
+            new CoastalLocation("Udupi", "Karnataka", 13.34, 74.70),
+            new CoastalLocation("Mangalore", "Karnataka", 12.87, 74.84),
+            new CoastalLocation("Kozhikode", "Kerala", 11.25, 75.77),
+            new CoastalLocation("Kochi", "Kerala", 9.96, 76.24),
+            new CoastalLocation("Thiruvananthapuram", "Kerala", 8.49, 76.92),
+            new CoastalLocation("Kanyakumari", "Tamil Nadu", 8.08, 77.55),
+            new CoastalLocation("Ramanathapuram", "Tamil Nadu", 9.28, 79.31),
+            new CoastalLocation("Puducherry", "Puducherry", 11.93, 79.83),
+            new CoastalLocation("Chennai", "Tamil Nadu", 13.08, 80.29),
+            new CoastalLocation("Nellore", "Andhra Pradesh", 14.45, 80.15),
+            new CoastalLocation("Kakinada", "Andhra Pradesh", 16.96, 82.25),
+            new CoastalLocation("Visakhapatnam", "Andhra Pradesh", 17.69, 83.29),
+            new CoastalLocation("Ganjam", "Odisha", 19.31, 84.96),
+            new CoastalLocation("Puri", "Odisha", 19.80, 85.83),
+            new CoastalLocation("Balasore", "Odisha", 21.45, 87.02),
+            new CoastalLocation("South 24 Parganas", "West Bengal", 21.65, 88.07),
+            new CoastalLocation("Kolkata", "West Bengal", 22.57, 88.36)
+    );
+
+    // First index of the east coast in COASTAL_LOCATIONS
+    static final int EAST_COAST = 14;
+}
@@ -0,0 +1,168 @@
+package com.oceanberg.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oceanberg.backend.model.CycloneTrackState;
+import com.oceanberg.backend.model.OceanAlert;
+import com.oceanberg.backend.repository.CycloneTrackStateRepository;
+import com.oceanberg.backend.util.JsonArrayStreamer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cyclone track points: a GeoJSON FeatureCollection of Point features. The feed repeats the
+ * whole track every time, so per storm only points newer than the last stored one
+ * ({@link CycloneTrackState}) are emitted, stamped with their own {@code Date_Time}. Points
+ * whose {@code Date_Time} can't be read are skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CycloneFeedAdapter implements FeedAdapter<JsonNode> {
+
+    private static final String CYCLONE_FEED =
+            "https://services.incois.gov.in/WEBSITE_FILES/surge/webgis/FENGAL/track_points.geojson";
+
+    // Storm name properties, falling back to the storm's directory in the feed URL
+    private static final String[] STORM_KEYS = {"Name", "NAME", "Storm", "Storm_Name", "name"};
+    private static final String FEED_STORM = stormFromUrl(CYCLONE_FEED);
+
+    // Date_Time layouts seen across INCOIS track products
+    private static final List<DateTimeFormatter> POINT_TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm[:ss]", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HHmm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MMM-dd HH:mm", Locale.ENGLISH)
+    );
+
+    // High-water mark of a storm with no stored points
+    private static final LocalDateTime NONE = LocalDateTime.MIN;
+
+    private final FeedClient feedClient;
+    private final CycloneTrackStateRepository trackStates;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Committed high-water marks, loaded once from cyclone_track_state
+    private final Map<String, LocalDateTime> highWaterMarks = new ConcurrentHashMap<>();
+    private volatile boolean marksLoaded;
+    // Newest point per storm emitted by the fetch in progress, committed by onStored
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "cyclone";
+    }
+
+    @Override
+    public String url() {
+        return CYCLONE_FEED;
+    }
+
+    @Override
+    public Flux<JsonNode> fetch() {
+        return Flux.defer(() -> {
+            pending.clear();
+            loadHighWaterMarks();
+            return JsonArrayStreamer.elements(feedClient.stream(name(), url()), "features", objectMapper)
+                    .filter(this::isNewPoint);
+        });
+    }
+
+    // On the fetching thread, so the filter below never blocks the HTTP client's threads on Mongo
+    private void loadHighWaterMarks() {
+        if (marksLoaded) return;
+        for (CycloneTrackState state : trackStates.findAll()) {
+            if (state.getLastPointTime() != null) highWaterMarks.merge(state.getStorm(), state.getLastPointTime(),
+                    (a, b) -> a.isAfter(b) ? a : b);
+        }
+        marksLoaded = true;
+    }
+
+    private boolean isNewPoint(JsonNode feature) {
+        LocalDateTime time = pointTime(feature.path("properties"));
+        if (time == null) return true;          // can't place it on the track; toAlerts skips it
+
+        String storm = stormName(feature.path("properties"));
+        if (!time.isAfter(highWaterMarks.getOrDefault(storm, NONE))) return false;
+
+        pending.merge(storm, time, (a, b) -> a.isAfter(b) ? a : b);
+        return true;
+    }
+
+    @Override
+    public void onStored() {
+        pending.forEach((storm, time) -> {
+            highWaterMarks.merge(storm, time, (a, b) -> a.isAfter(b) ? a : b);
+            trackStates.save(new CycloneTrackState(storm, highWaterMarks.get(storm), LocalDateTime.now()));
+            log.info("Cyclone {} track stored up to {}", storm, highWaterMarks.get(storm));
+        });
+        pending.clear();
+    }
+
+    @Override
+    public List<OceanAlert> toAlerts(JsonNode feature) {
+        JsonNode props = feature.path("properties");
+        JsonNode coords = feature.path("geometry").path("coordinates");
+        LocalDateTime time = pointTime(props);
+        if (time == null) {
+            log.warn("Skipping cyclone track point with unreadable Date_Time '{}'", props.path("Date_Time").asText());
+            return List.of();
+        }
+        return List.of(OceanAlert.builder()
+                .type("Cyclone")
+                .latitude(coords.path(1).asDouble())
+                .longitude(coords.path(0).asDouble())
+                .color("Orange")
+                .message(props.path("Category").asText("Cyclone"))
+                .source("INCOIS")
+                .issueDate(time)
+                .details(Map.of(
+                        "storm", stormName(props),
+                        "status", props.path("Status").asText(),
+                        "wind_speed", props.path("Wind_Speed").asText(),
+                        "date_time", props.path("Date_Time").asText()
+                ))
+                .build());
+    }
+
+    private String stormName(JsonNode props) {
+        for (String key : STORM_KEYS) {
+            String name = props.path(key).asText("").trim();
+            if (!name.isEmpty()) return name.toUpperCase(Locale.ROOT);
+        }
+        return FEED_STORM;
+    }
+
+    // .../webgis/FENGAL/track_points.geojson
+    private static String stormFromUrl(String url) {
+        String[] path = URI.create(url).getPath().split("/");
+        return path.length >= 2 ? path[path.length - 2].toUpperCase(Locale.ROOT) : "UNKNOWN";
+    }
+
+    static LocalDateTime pointTime(JsonNode props) {
+        String text = props.path("Date_Time").asText("").trim();
+        if (text.isEmpty()) return null;
+        for (DateTimeFormatter format : POINT_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next layout
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.model.OceanAlert;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * A source of ocean alerts for the {@link IngestionPipeline}. An adapter only fetches and
+ * parses; district resolution, dedup and persistence are pipeline stages shared by all feeds.
+ * Register a new source by declaring an implementation as a bean.
+ *
+ * @param <T> one parsed item of the feed
+ */
+public interface FeedAdapter<T> {
+
+    /**
+     * Short stable key of the feed, used in metrics, by the scheduler and for conditional GETs.
+     */
+    String name();
+
+    /**
+     * Where the feed is fetched from; its host is the unit of circuit breaking.
+     */
+    String url();
+
+    /**
+     * Fetches and parses the feed, emitting items as they are parsed. Empty when the feed is
+     * unchanged since the last fetch.
+     */
+    Flux<T> fetch();
+
+    /**
+     * Draft alerts for one item. Leave district and state null to have them resolved from
+     * the coordinates, or leave the coordinates null to use the district's centroid.
+     */
+    List<OceanAlert> toAlerts(T item);
+
+    /**
+     * Called once every alert of a fetch has been stored. Adapters that only emit what is new
+     * since the last fetch commit their progress here, so a failed run is retried in full.
+     */
+    default void onStored() {
+    }
+}
@@ -0,0 +1,81 @@
+package com.oceanberg.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fetches INCOIS feeds only when they changed. Per feed it remembers the ETag / Last-Modified
+ * validators, sent back as a conditional GET; an unchanged feed comes back empty and the
+ * caller skips parsing, enrichment and persistence. Bodies are handed over buffer by buffer as
+ * they arrive, never held whole; a changed feed that repeats alerts already stored is absorbed
+ * by the fingerprint dedup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, FeedState> states = new ConcurrentHashMap<>();
+
+    private record FeedState(String etag, String lastModified) {
+    }
+
+    /**
+     * The feed body as raw buffers for a streaming parser, in the order they arrive, or an
+     * empty stream if the server answered 304. The validators are remembered once the whole
+     * body has been read; a run that then fails to process it calls {@link #invalidate}.
+     */
+    public Flux<DataBuffer> stream(String feed, String url) {
+        FeedState previous = states.get(feed);
+
+        return webClient.get().uri(url)
+                .headers(headers -> conditional(headers, previous))
+                .exchangeToFlux(res -> {
+                    if (res.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        unchanged(feed, "not_modified");
+                        return res.releaseBody().thenMany(Flux.<DataBuffer>empty());
+                    }
+                    if (res.statusCode().isError()) return res.<DataBuffer>createError().flux();
+                    HttpHeaders h = res.headers().asHttpHeaders();
+                    FeedState current = new FeedState(h.getETag(), h.getFirst(HttpHeaders.LAST_MODIFIED));
+                    return res.bodyToFlux(DataBuffer.class)
+                            .doOnComplete(() -> states.put(feed, current));
+                })
+                .timeout(REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Forgets what was last fetched for the feed, so the next fetch is processed in full.
+     * Called when processing a changed body failed.
+     */
+    public void invalidate(String feed) {
+        states.remove(feed);
+    }
+
+    private static void conditional(HttpHeaders headers, FeedState previous) {
+        if (previous == null) return;
+        if (previous.etag() != null) headers.setIfNoneMatch(previous.etag());
+        if (previous.lastModified() != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+    }
+
+    private void unchanged(String feed, String reason) {
+        log.info("{} feed unchanged ({}); skipping", feed, reason);
+        meterRegistry.counter("incois.feed.unchanged", "feed", feed, "reason", reason).increment();
+    }
+}
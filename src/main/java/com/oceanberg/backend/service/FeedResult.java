@@ -0,0 +1,24 @@
+package com.oceanberg.backend.service;
+
+/**
+ * Outcome of one fetch of an INCOIS feed: how many new alerts it stored, or why it failed.
+ * A successful fetch that stored nothing (unchanged feed, only repeats) is quiet.
+ */
+public record FeedResult(int saved, Throwable failure) {
+
+    public static FeedResult saved(int saved) {
+        return new FeedResult(saved, null);
+    }
+
+    public static FeedResult failed(Throwable failure) {
+        return new FeedResult(0, failure);
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public boolean isQuiet() {
+        return failure == null && saved == 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.oceanberg.backend.service;
+
+import java.util.List;
+
+/**
+ * Reverse-geocoding of coordinates to coastal districts, and the inverse centroid lookup.
+ * Backed either by the in-memory JTS index ({@code geo.resolver.backend=memory}, the
+ * default) or by the shared {@code district_polygons} collection ({@code mongo}).
+ */
+public interface GeoResolver {
+
+    /**
+     * {district, state} containing the point, else of the nearest district within roughly
+     * 500 km, else {"Offshore", "Offshore"}.
+     */
+    String[] resolveDistrictState(double lat, double lon);
+
+    /**
+     * Resolves {@code lats[i], lons[i]} for every i; result i is {district, state}.
+     */
+    default String[][] resolveDistrictStates(double[] lats, double[] lons) {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException("lats and lons differ in length: " + lats.length + " vs " + lons.length);
+        }
+        String[][] results = new String[lats.length][];
+        for (int i = 0; i < lats.length; i++) {
+            results[i] = resolveDistrictState(lats[i], lons[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Centroid {lat, lon} of the district, falling back to the state's centroid and then to
+     * {0, 0}. The returned array may be shared and must not be modified.
+     */
+    double[] getCentroidForDistrict(String district, String state);
+
+    /**
+     * {district, state} of every known district, as named in the boundary dataset.
+     */
+    List<String[]> districts();
+
+    boolean isReady();
+
+    int districtCount();
+
+    /**
+     * Why the district boundaries could not be loaded, or null.
+     */
+    Throwable loadFailure();
+}
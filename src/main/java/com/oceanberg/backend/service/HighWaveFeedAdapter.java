@@ -0,0 +1,24 @@
+package com.oceanberg.backend.service;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class HighWaveFeedAdapter extends AdvisoryFeedAdapter {
+
+    private static final String HIGH_WAVE_FEED =
+            "https://sarat.incois.gov.in/incoismobileappdata/rest/incois/hwassalatestdata";
+
+    public HighWaveFeedAdapter(FeedClient feedClient, AdvisoryLocator advisoryLocator) {
+        super(feedClient, advisoryLocator, "High Wave", "HWAJson");
+    }
+
+    @Override
+    public String name() {
+        return "high_wave";
+    }
+
+    @Override
+    public String url() {
+        return HIGH_WAVE_FEED;
+    }
+}
@@ -1,25 +1,26 @@
 package com.oceanberg.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oceanberg.backend.dto.SyntheticJob;
 import com.oceanberg.backend.model.OceanAlert;
 import com.oceanberg.backend.repository.OceanAlertRepository;
-import com.oceanberg.backend.util.GeoUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.w3c.dom.NodeList;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.ByteArrayInputStream;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
@@ -27,32 +28,15 @@ import java.util.*;
 public class INCOISService {
 
     private final OceanAlertRepository repository;
-    private final WebClient webClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MongoTemplate mongoTemplate;
+    private final IngestionPipeline ingestionPipeline;
+    private final GeoResolver geoResolver;
+    private final AlertPersistenceService alertPersistence;
+    private final SyntheticAlertGenerator syntheticAlerts;
+    private final AlertQueryCache queryCache;
+    private final MeterRegistry meterRegistry;
     private final Random random = new Random();
 
-    // Feed URLs
-    private static final String CYCLONE_FEED =
-            "https://services.incois.gov.in/WEBSITE_FILES/surge/webgis/FENGAL/track_points.geojson";
-    private static final String HIGH_WAVE_FEED =
-            "https://sarat.incois.gov.in/incoismobileappdata/rest/incois/hwassalatestdata";
-    private static final String CURRENT_FEED =
-            "https://samudra.incois.gov.in/incoismobileappdata/rest/incois/currentslatestdata";
-
-    // Coastal districts map for mock data
-    private static final Map<String, String[]> COASTAL_LOCATIONS = Map.of(
-            "Andhra Pradesh", new String[]{"Visakhapatnam", "Nellore", "Kakinada"},
-            "Goa", new String[]{"North Goa", "South Goa"},
-            "Gujarat", new String[]{"Porbandar", "Jamnagar", "Kutch"},
-            "Karnataka", new String[]{"Mangalore", "Udupi", "Karwar"},
-            "Kerala", new String[]{"Kochi", "Kozhikode", "Thiruvananthapuram"},
-            "Maharashtra", new String[]{"Mumbai", "Raigad", "Ratnagiri"},
-            "Odisha", new String[]{"Puri", "Balasore", "Ganjam"},
-            "Puducherry", new String[]{"Puducherry"},
-            "Tamil Nadu", new String[]{"Chennai", "Kanyakumari", "Ramanathapuram"},
-            "West Bengal", new String[]{"Kolkata", "South 24 Parganas"}
-    );
-
     //===================== MOCK DATA =====================//
     public void generateMockData() {
         log.info("Starting mock data generation.");
@@ -64,375 +48,219 @@ public class INCOISService {
         for (int i = 0; i < numTsunamis; i++) alerts.add(createMockTsunami());
         for (int i = 0; i < numStorms; i++) alerts.add(createMockStormSurge());
 
-        // Filter duplicates
-        List<OceanAlert> alertsToSave = alerts.stream()
-                .filter(alert -> !isDuplicateAlert(alert))
-                .toList();
-
-        if (!alertsToSave.isEmpty()) {
-            repository.saveAll(alertsToSave);
-            log.info("Generated {} new mock alerts.", alertsToSave.size());
+        int saved = alertPersistence.saveNew(alerts);
+        if (saved > 0) {
+            log.info("Generated {} new mock alerts.", saved);
         } else {
             log.info("No new mock alerts generated. All duplicates.");
         }
     }
 
     private OceanAlert createMockTsunami() {
-        String[] states = COASTAL_LOCATIONS.keySet().toArray(new String[0]);
-        String state = states[random.nextInt(states.length)];
-        String[] districts = COASTAL_LOCATIONS.get(state);
-        String district = districts[random.nextInt(districts.length)];
+        CoastalLocation location = randomCoastalLocation();
 
         double magnitude = 5.0 + random.nextDouble() * 3.0;
         String severity = (magnitude > 7.0) ? "High" : ((magnitude > 6.0) ? "Moderate" : "Low");
 
         return OceanAlert.builder()
                 .type("Tsunami")
-                .district(district.toUpperCase())
-                .state(state.toUpperCase())
-                .latitude(random.nextDouble() * 30)
-                .longitude(random.nextDouble() * 30)
+                .district(location.district().toUpperCase())
+                .state(location.state().toUpperCase())
+                .latitude(location.latitude())
+                .longitude(location.longitude())
                 .issueDate(LocalDateTime.now().minusHours(random.nextInt(12)))
                 .color(severity.equals("High") ? "Red" : "Orange")
-                .message("Mock Tsunami Advisory for " + district + ", " + state)
+                .message("Mock Tsunami Advisory for " + location.district() + ", " + location.state())
                 .source("MOCK_INCOIS")
                 .details(Map.of("magnitude", String.format("%.1f", magnitude)))
                 .build();
     }
 
     private OceanAlert createMockStormSurge() {
-        String[] states = COASTAL_LOCATIONS.keySet().toArray(new String[0]);
-        String state = states[random.nextInt(states.length)];
-        String[] districts = COASTAL_LOCATIONS.get(state);
-        String district = districts[random.nextInt(districts.length)];
+        CoastalLocation location = randomCoastalLocation();
 
         double magnitude = 1.0 + random.nextDouble() * 3.0;
         String severity = magnitude > 2.5 ? "High" : "Moderate";
 
         return OceanAlert.builder()
                 .type("Storm Surge")
-                .district(district.toUpperCase())
-                .state(state.toUpperCase())
-                .latitude(random.nextDouble() * 30)
-                .longitude(random.nextDouble() * 30)
+                .district(location.district().toUpperCase())
+                .state(location.state().toUpperCase())
+                .latitude(location.latitude())
+                .longitude(location.longitude())
                 .issueDate(LocalDateTime.now().minusHours(random.nextInt(24)))
                 .color(severity.equals("High") ? "Orange" : "Yellow")
-                .message("Mock Storm Surge Advisory for " + district + ", " + state)
+                .message("Mock Storm Surge Advisory for " + location.district() + ", " + location.state())
                 .source("MOCK_INCOIS")
                 .details(Map.of("surge_height", String.format("%.2f", magnitude)))
                 .build();
     }
 
-    //===================== FETCH METHODS =====================//
-    public void fetchCycloneTrack() {
-        fetchGeoJsonFeed(CYCLONE_FEED, "Cyclone", feature -> {
-            JsonNode props = feature.path("properties");
-            JsonNode coords = feature.path("geometry").path("coordinates");
-            double lon = coords.get(0).asDouble();
-            double lat = coords.get(1).asDouble();
-            String[] districtState = GeoUtil.resolveDistrictState(lat, lon);
-            OceanAlert alert = OceanAlert.builder()
-                    .type("Cyclone")
-                    .district(districtState[0])
-                    .state(districtState[1])
-                    .latitude(lat)
-                    .longitude(lon)
-                    .color("Orange")
-                    .message(props.path("Category").asText("Cyclone"))
-                    .source("INCOIS")
-                    .issueDate(LocalDateTime.now())
-                    .details(Map.of(
-                            "status", props.path("Status").asText(),
-                            "wind_speed", props.path("Wind_Speed").asText(),
-                            "date_time", props.path("Date_Time").asText()
-                    ))
-                    .build();
-            return alert;
-        });
+    private CoastalLocation randomCoastalLocation() {
+        return CoastalLocation.COASTAL_LOCATIONS.get(random.nextInt(CoastalLocation.COASTAL_LOCATIONS.size()));
     }
 
-    public void fetchHighWaveAlerts() {
-        fetchJsonFeed(HIGH_WAVE_FEED, "High Wave", node -> {
-            String message = node.path("Message").asText();
-            String[] districtState = extractDistrictState(message);
-            double[] latLon = GeoUtil.getCentroidForDistrict(districtState[0], districtState[1]);
-
-            OceanAlert alert = OceanAlert.builder()
-                    .type("High Wave")
-                    .district(districtState[0])
-                    .state(districtState[1])
-                    .latitude(latLon[0])
-                    .longitude(latLon[1])
-                    .color(node.path("Color").asText())
-                    .message(message)
-                    .source("INCOIS")
-                    .issueDate(LocalDateTime.now())
-                    .details(Map.of(
-                            "alert", node.path("Alert").asText(),
-                            "issue_date", node.path("Issue Date").asText()
-                    ))
-                    .build();
-            return alert;
-        }, "HWAJson");
+    //===================== SYNTHETIC LOAD DATA =====================//
+    public SyntheticJob generateSyntheticAlerts(long seed, long count, int days) {
+        return syntheticAlerts.submit(seed, count, days);
     }
 
-    public void fetchOceanCurrents() {
-        fetchJsonFeed(CURRENT_FEED, "Ocean Current", node -> {
-            String message = node.path("Message").asText();
-            String[] districtState = extractDistrictState(message);
-            double[] latLon = GeoUtil.getCentroidForDistrict(districtState[0], districtState[1]);
-
-            OceanAlert alert = OceanAlert.builder()
-                    .type("Ocean Current")
-                    .district(districtState[0])
-                    .state(districtState[1])
-                    .latitude(latLon[0])
-                    .longitude(latLon[1])
-                    .color(node.path("Color").asText())
-                    .message(message)
-                    .source("INCOIS")
-                    .issueDate(LocalDateTime.now())
-                    .details(Map.of(
-                            "alert", node.path("Alert").asText(),
-                            "issue_date", node.path("Issue Date").asText()
-                    ))
-                    .build();
-            return alert;
-        }, "CurrentsJson");
+    public Optional<SyntheticJob> syntheticJob(String id) {
+        return syntheticAlerts.job(id);
     }
 
-    public void fetchTsunamiAlerts() {
-        try {
-            log.info("Fetching Tsunami Station Alerts...");
-            String xml = webClient.get()
-                    .uri("https://tsunami.incois.gov.in/itews/homexmls/BprStations.xml?currentTime=" + System.currentTimeMillis())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            if (xml == null || xml.isBlank()) return;
-
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            org.w3c.dom.Document doc = builder.parse(new ByteArrayInputStream(xml.getBytes()));
-            doc.getDocumentElement().normalize();
-
-            NodeList stations = doc.getElementsByTagName("station");
-            List<OceanAlert> alerts = new ArrayList<>();
-            Instant recentTimeWindow = Instant.now().minus(3, ChronoUnit.DAYS);
-
-            for (int i = 0; i < stations.getLength(); i++) {
-                org.w3c.dom.Node node = stations.item(i);
-                if (node.getNodeType() != org.w3c.dom.Node.ELEMENT_NODE) continue;
-
-                org.w3c.dom.Element elem = (org.w3c.dom.Element) node;
-
-                String status = elem.getAttribute("status");
-                String stationName = getTagTextContent(elem, "statname");
-                if (!"Reporting".equalsIgnoreCase(status)) {
-                    log.info("Skipping station {} because status is '{}'", stationName, status);
-                    continue;
-                }
-
-                double lat = parseDoubleSafe(getTagTextContent(elem, "latitude"));
-                double lon = parseDoubleSafe(getTagTextContent(elem, "longitude"));
-                String[] districtState = GeoUtil.resolveDistrictState(lat, lon);
-
-                String stationRealName = getTagTextContent(elem, "statrealName");
-                String country = getTagTextContent(elem, "country");
-                String owner = getTagTextContent(elem, "owner");
-                String colorClass = getTagTextContent(elem, "colorClass");
-                String dateStr = getTagTextContent(elem, "date"); // e.g., "2025-Sep-16 07:00"
-
-                Instant alertTime = parseStationDate(dateStr);
-                if (alertTime == null || alertTime.isBefore(recentTimeWindow)) {
-                    log.debug("Skipping old tsunami station {} (date={})", stationName, dateStr);
-                    continue;
-                }
-
-                OceanAlert alert = OceanAlert.builder()
-                        .type("Tsunami")
-                        .district(districtState[0])
-                        .state(districtState[1])
-                        .latitude(lat)
-                        .longitude(lon)
-                        .color(colorClass.isBlank() ? "UNKNOWN" : colorClass.toUpperCase())
-                        .message("Tide Station " + stationName + " (" + country + ") - Status: " + status)
-                        .source("INCOIS")
-                        .issueDate(LocalDateTime.ofInstant(alertTime, ZoneId.systemDefault()))
-                        .details(Map.of(
-                                "station_code", stationName,
-                                "station_real_name", stationRealName,
-                                "country", country,
-                                "owner", owner,
-                                "status", status,
-                                "raw_date", dateStr
-                        ))
-                        .build();
-
-                if (!isDuplicateAlert(alert)) alerts.add(alert);
-            }
+    public long deleteSyntheticAlerts() {
+        return syntheticAlerts.deleteAll();
+    }
 
-            if (!alerts.isEmpty()) {
-                repository.saveAll(alerts);
-                log.info("Saved {} tsunami station alerts.", alerts.size());
-            }
+    //===================== FETCH METHODS =====================//
+    public FeedResult fetchCycloneTrack() {
+        return ingestionPipeline.run("cyclone");
+    }
 
-        } catch (Exception e) {
-            log.error("Tsunami fetch failed", e);
-        }
+    public FeedResult fetchHighWaveAlerts() {
+        return ingestionPipeline.run("high_wave");
     }
 
-    private double parseDoubleSafe(String s) {
-        try {
-            return s == null || s.isBlank() ? 0 : Double.parseDouble(s);
-        } catch (NumberFormatException e) {
-            return 0;
-        }
+    public FeedResult fetchOceanCurrents() {
+        return ingestionPipeline.run("currents");
     }
 
-    private Instant parseStationDate(String dateStr) {
-        try {
-            if (dateStr == null || dateStr.isBlank()) return null;
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MMM-dd HH:mm", Locale.ENGLISH);
-            return LocalDateTime.parse(dateStr, formatter).atZone(ZoneId.systemDefault()).toInstant();
-        } catch (Exception e) {
-            log.warn("Failed to parse tsunami station date '{}': {}", dateStr, e.getMessage());
-            return null;
-        }
+    public FeedResult fetchTsunamiAlerts() {
+        return ingestionPipeline.run("tsunami");
     }
 
     //===================== MASTER FETCH =====================//
+    /**
+     * Fetches every registered feed concurrently. Each runs under its own deadline (see
+     * {@link IngestionPipeline#execute}), so a slow or failing INCOIS host only costs its own
+     * feed; the call returns once every feed has finished or timed out.
+     */
     public void fetchAllAlerts() {
-        fetchCycloneTrack();
-        fetchHighWaveAlerts();
-        fetchOceanCurrents();
-        fetchTsunamiAlerts();
+        Timer.Sample cycle = Timer.start(meterRegistry);
+        Mono.when(ingestionPipeline.feeds().stream()
+                .map(this::timedFeed)
+                .toList()
+        ).block();
+        cycle.stop(meterRegistry.timer("incois.feed.cycle"));
     }
 
-    //===================== DUPLICATE CHECK =====================//
-    private boolean isDuplicateAlert(OceanAlert alert) {
-        LocalDateTime start = alert.getIssueDate().minusHours(1);
-        LocalDateTime end = alert.getIssueDate().plusHours(1);
-
-        return repository.findByTypeAndDistrictAndStateAndIssueDateBetweenAndColor(
-                alert.getType(),
-                alert.getDistrict(),
-                alert.getState(),
-                start,
-                end,
-                alert.getColor()
-        ).isPresent();
+    private Mono<Void> timedFeed(String feed) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return ingestionPipeline.execute(feed)
+                    // Off the caller's thread, so one feed's blocking setup doesn't delay the others
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(result -> sample.stop(feedTimer(feed, !result.isFailed() ? "success"
+                            : result.failure() instanceof TimeoutException ? "timeout" : "error")))
+                    .then();
+        });
     }
 
-    //===================== HELPER METHODS =====================//
-    private interface AlertBuilder<T> {
-        OceanAlert build(T node) throws Exception;
+    private Timer feedTimer(String feed, String outcome) {
+        return Timer.builder("incois.feed.fetch")
+                .description("Time to fetch, parse and store one INCOIS feed")
+                .tag("feed", feed)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
-    private void fetchGeoJsonFeed(String url, String type, AlertBuilder<JsonNode> builder) {
-        try {
-            log.info("Fetching {} feed...", type);
-            String json = webClient.get().uri(url).retrieve().bodyToMono(String.class).block();
-            if (json == null) return;
-
-            JsonNode features = objectMapper.readTree(json).path("features");
-            List<OceanAlert> alerts = new ArrayList<>();
 
-            for (JsonNode feature : features) {
-                OceanAlert alert = builder.build(feature);
-                if (!isDuplicateAlert(alert)) alerts.add(alert);
+    //===================== BACKFILL =====================//
+    private static final List<String> POINT_RESOLVED_TYPES = List.of("Cyclone", "Tsunami");
+    private static final int BACKFILL_PAGE_SIZE = 5_000;
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * Re-resolves district/state for stored alerts located by coordinates (cyclone track
+     * points, tsunami stations), a page at a time through the batch resolver. Pages follow
+     * {@code _id}, so each costs the same however far the backfill has got. A changed alert gets
+     * the fingerprint of its new place; when another alert already has it, the two are the
+     * same advisory and this one is removed. Returns the number of alerts whose district or
+     * state changed.
+     */
+    public int backfillDistricts() {
+        log.info("Re-resolving districts for stored {} alerts...", POINT_RESOLVED_TYPES);
+        int updated = 0;
+        String lastId = null;
+        List<OceanAlert> page;
+        do {
+            Query next = Query.query(Criteria.where("type").in(POINT_RESOLVED_TYPES))
+                    .with(Sort.by(Sort.Direction.ASC, "id"))
+                    .limit(BACKFILL_PAGE_SIZE);
+            if (lastId != null) next.addCriteria(Criteria.where("id").gt(lastId));
+            next.fields().include("type", "district", "state", "color", "latitude", "longitude", "issueDate");
+            page = mongoTemplate.find(next, OceanAlert.class);
+            if (page.isEmpty()) break;
+            lastId = page.get(page.size() - 1).getId();
+
+            List<OceanAlert> located = page.stream()
+                    .filter(a -> a.getLatitude() != null && a.getLongitude() != null)
+                    .toList();
+
+            double[] lats = new double[located.size()];
+            double[] lons = new double[located.size()];
+            for (int i = 0; i < located.size(); i++) {
+                lats[i] = located.get(i).getLatitude();
+                lons[i] = located.get(i).getLongitude();
             }
-
-            if (!alerts.isEmpty()) repository.saveAll(alerts);
-
-        } catch (Exception e) {
-            log.error("{} feed fetch failed", type, e);
-        }
-    }
-
-    private void fetchJsonFeed(String url, String type, AlertBuilder<JsonNode> builder, String dataField) {
-        try {
-            log.info("Fetching {} feed...", type);
-            String json = webClient.get().uri(url).retrieve().bodyToMono(String.class).block();
-            if (json == null) return;
-
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode alertsNode = objectMapper.readTree(root.path(dataField).asText());
-            List<OceanAlert> alerts = new ArrayList<>();
-
-            for (JsonNode node : alertsNode) {
-                OceanAlert alert = builder.build(node);
-                if (!isDuplicateAlert(alert)) alerts.add(alert);
+            String[][] districtStates = geoResolver.resolveDistrictStates(lats, lons);
+
+            List<OceanAlert> changed = new ArrayList<>();
+            for (int i = 0; i < located.size(); i++) {
+                OceanAlert alert = located.get(i);
+                if (!districtStates[i][0].equals(alert.getDistrict()) || !districtStates[i][1].equals(alert.getState())) {
+                    alert.setDistrict(districtStates[i][0]);
+                    alert.setState(districtStates[i][1]);
+                    changed.add(alert);
+                }
             }
+            if (!changed.isEmpty()) {
+                relocate(changed);
+                queryCache.alertsChanged();
+            }
+            updated += changed.size();
+        } while (page.size() == BACKFILL_PAGE_SIZE);
 
-            if (!alerts.isEmpty()) repository.saveAll(alerts);
-
-        } catch (Exception e) {
-            log.error("{} feed fetch failed", type, e);
-        }
+        log.info("District backfill updated {} alerts.", updated);
+        return updated;
     }
 
-    private String[] extractDistrictState(String message) {
-        if (message == null || message.isBlank()) {
-            return new String[]{"UNKNOWN", "UNKNOWN"};
+    // District, state, their search keys and the fingerprint that follows from them, in one bulk
+    private void relocate(List<OceanAlert> alerts) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OceanAlert.class);
+        for (OceanAlert alert : alerts) {
+            alert.withSearchKeys();
+            bulk.updateOne(Query.query(Criteria.where("id").is(alert.getId())), new Update()
+                    .set("district", alert.getDistrict())
+                    .set("state", alert.getState())
+                    .set("districtKey", alert.getDistrictKey())
+                    .set("stateKey", alert.getStateKey())
+                    .set("fingerprint", AlertPersistenceService.fingerprint(alert)));
         }
-
-        String searchText = "for the coast of ";
-        String lowerMsg = message.toLowerCase();
-
-        int startIndex = lowerMsg.indexOf(searchText);
-        if (startIndex == -1) {
-            return new String[]{"UNKNOWN", "UNKNOWN"};
-        }
-
-        // Start after "for the coast of "
-        int extractStart = startIndex + searchText.length();
-
-        // Look for " from " or "." to determine end of district/state
-        int fromIndex = lowerMsg.indexOf(" from ", extractStart);
-        int dotIndex = lowerMsg.indexOf(".", extractStart);
-
-        int extractEnd;
-        if (fromIndex != -1 && dotIndex != -1) {
-            extractEnd = Math.min(fromIndex, dotIndex);
-        } else if (fromIndex != -1) {
-            extractEnd = fromIndex;
-        } else if (dotIndex != -1) {
-            extractEnd = dotIndex;
-        } else {
-            extractEnd = message.length();
-        }
-
-        String districtStateStr = message.substring(extractStart, extractEnd).trim();
-
-        // Split by comma
-        String[] parts = districtStateStr.split(",");
-        if (parts.length >= 2) {
-            return new String[]{parts[0].trim().toUpperCase(), parts[1].trim().toUpperCase()};
-        } else if (parts.length == 1) {
-            return new String[]{parts[0].trim().toUpperCase(), "UNKNOWN"};
-        } else {
-            return new String[]{"UNKNOWN", "UNKNOWN"};
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Already stored under its new place, by an ingest since: drop this copy
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+            List<String> duplicates = e.getErrors().stream().map(error -> alerts.get(error.getIndex()).getId()).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("id").in(duplicates)), OceanAlert.class);
+            log.info("District backfill removed {} alerts already stored under their new district.", duplicates.size());
         }
     }
 
-    private String getTagTextContent(org.w3c.dom.Element elem, String tagName) {
-        NodeList list = elem.getElementsByTagName(tagName);
-        if (list.getLength() == 0 || list.item(0) == null || list.item(0).getTextContent() == null) return "";
-        return list.item(0).getTextContent().trim();
-    }
-
     //===================== DELETE METHODS =====================//
     public void deleteAlertsByType(String type) {
         log.info("Deleting all alerts of type: {}", type);
         repository.deleteByType(type);
+        queryCache.alertsChanged();
         log.info("All alerts of type {} have been deleted.", type);
     }
 
     public void deleteAllAlerts() {
         log.info("Deleting all ocean alerts from the database...");
         repository.deleteAll();
+        queryCache.alertsChanged();
         log.info("All ocean alerts have been deleted.");
     }
 }
@@ -0,0 +1,237 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs a {@link FeedAdapter} through the ingestion stages:
+ * <pre>
+ *   fetch + parse ──[queue]──▶ enrich (CPU pool, batches) ──[queue]──▶ persist (micro-batches)
+ * </pre>
+ * Stages hand over through bounded queues, so a slow stage backs pressure up to the parser
+ * and, through it, the HTTP read instead of piling alerts up on heap. Enrichment resolves
+ * districts from coordinates (or centroids from districts) in batches; persistence is the
+ * dedup-cache check plus one bulk upsert per micro-batch.
+ */
+@Slf4j
+@Service
+public class IngestionPipeline {
+
+    private final Map<String, FeedAdapter<?>> adapters = new LinkedHashMap<>();
+    private final GeoResolver geoResolver;
+    private final AlertPersistenceService alertPersistence;
+    private final FeedClient feedClient;
+    private final MeterRegistry meterRegistry;
+
+    private final int queueSize;
+    private final int enrichParallelism;
+    private final int enrichBatch;
+    private final int persistParallelism;
+    private final int persistBatch;
+    private final Duration feedTimeout;
+
+    private final Scheduler enrichScheduler;
+    private final Scheduler persistScheduler;
+
+    // Items waiting in each stage's input queue, across feeds
+    private final AtomicInteger enrichQueued = new AtomicInteger();
+    private final AtomicInteger persistQueued = new AtomicInteger();
+
+    // Feeds with a run in progress
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IngestionPipeline(List<FeedAdapter<?>> adapters,
+                             GeoResolver geoResolver,
+                             AlertPersistenceService alertPersistence,
+                             FeedClient feedClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${incois.pipeline.queue-size:256}") int queueSize,
+                             @Value("${incois.pipeline.enrich.parallelism:2}") int enrichParallelism,
+                             @Value("${incois.pipeline.enrich.batch-size:256}") int enrichBatch,
+                             @Value("${incois.pipeline.persist.parallelism:2}") int persistParallelism,
+                             @Value("${incois.pipeline.persist.batch-size:500}") int persistBatch,
+                             @Value("${incois.pipeline.feed-timeout-seconds:60}") long feedTimeoutSeconds) {
+        for (FeedAdapter<?> adapter : adapters) {
+            if (this.adapters.putIfAbsent(adapter.name(), adapter) != null) {
+                throw new IllegalStateException("Duplicate feed adapter name: " + adapter.name());
+            }
+        }
+        this.geoResolver = geoResolver;
+        this.alertPersistence = alertPersistence;
+        this.feedClient = feedClient;
+        this.meterRegistry = meterRegistry;
+        this.queueSize = queueSize;
+        this.enrichParallelism = enrichParallelism;
+        this.enrichBatch = enrichBatch;
+        this.persistParallelism = persistParallelism;
+        this.persistBatch = persistBatch;
+        this.feedTimeout = Duration.ofSeconds(feedTimeoutSeconds);
+
+        this.enrichScheduler = Schedulers.newParallel("incois-enrich", enrichParallelism, true);
+        this.persistScheduler = Schedulers.newBoundedElastic(persistParallelism, queueSize, "incois-persist", 60, true);
+
+        Gauge.builder("incois.pipeline.queue.depth", enrichQueued, AtomicInteger::get)
+                .tag("stage", "enrich").register(meterRegistry);
+        Gauge.builder("incois.pipeline.queue.depth", persistQueued, AtomicInteger::get)
+                .tag("stage", "persist").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        enrichScheduler.dispose();
+        persistScheduler.dispose();
+    }
+
+    /**
+     * Names of the registered feeds, in registration order.
+     */
+    public Set<String> feeds() {
+        return adapters.keySet();
+    }
+
+    public FeedAdapter<?> adapter(String feed) {
+        FeedAdapter<?> adapter = adapters.get(feed);
+        if (adapter == null) throw new IllegalArgumentException("Unknown feed: " + feed);
+        return adapter;
+    }
+
+    /**
+     * Fetches the feed and runs it through every stage, blocking until the last batch is
+     * stored. Failures are logged and returned, never thrown.
+     */
+    public FeedResult run(String feed) {
+        return execute(feed).block();
+    }
+
+    /**
+     * The fetch of the feed through every stage, as one chain under the feed's deadline: a
+     * timeout cancels the HTTP request and every stage, so no part of the run outlives it.
+     * Emits the result; failures and timeouts are logged and emitted, never signalled.
+     * <p>
+     * A feed runs once at a time, whoever asks (scheduler, master fetch, manual endpoints):
+     * adapters keep per-run progress that overlapping runs would commit for each other. A call
+     * made while the feed is running is skipped and quiet.
+     */
+    public Mono<FeedResult> execute(String feed) {
+        FeedAdapter<?> adapter = adapter(feed);
+        return Mono.defer(() -> {
+            if (!inFlight.add(feed)) {
+                log.info("{} feed is already being fetched; skipping", feed);
+                meterRegistry.counter("incois.pipeline.skipped", "feed", feed, "reason", "in_flight").increment();
+                return Mono.just(FeedResult.saved(0));
+            }
+            // Freed before the result is handed on, so a caller acting on it can run the feed again
+            return ingest(feed, adapter)
+                    .doOnNext(result -> inFlight.remove(feed))
+                    .doFinally(signal -> inFlight.remove(feed));
+        });
+    }
+
+    private Mono<FeedResult> ingest(String feed, FeedAdapter<?> adapter) {
+        return Mono.defer(() -> {
+                    log.info("Fetching {} feed...", feed);
+                    return flow(adapter);
+                })
+                .timeout(feedTimeout)
+                .map(saved -> {
+                    adapter.onStored();
+                    if (saved > 0) log.info("Saved {} new {} alerts.", saved, feed);
+                    return FeedResult.saved(saved);
+                })
+                .onErrorResume(e -> {
+                    // Let the next fetch process the feed in full rather than see it as unchanged
+                    feedClient.invalidate(feed);
+                    log.error("{} feed fetch failed", feed, e);
+                    return Mono.just(FeedResult.failed(e));
+                });
+    }
+
+    private <T> Mono<Integer> flow(FeedAdapter<T> adapter) {
+        String feed = adapter.name();
+        Counter parsed = stageCounter("parse", feed);
+        Counter enriched = stageCounter("enrich", feed);
+        Counter persisted = stageCounter("persist", feed);
+
+        return adapter.fetch()
+                .doOnNext(item -> parsed.increment())
+                .concatMapIterable(adapter::toAlerts)
+                // parse → enrich
+                .doOnNext(alert -> enrichQueued.incrementAndGet())
+                .publishOn(enrichScheduler, queueSize)
+                .doOnNext(alert -> enrichQueued.decrementAndGet())
+                .buffer(enrichBatch)
+                .flatMapSequential(batch -> onPool(enrichScheduler, "enrich", () -> enrich(batch)), enrichParallelism)
+                .doOnNext(batch -> enriched.increment(batch.size()))
+                .concatMapIterable(batch -> batch)
+                // enrich → persist
+                .doOnNext(alert -> persistQueued.incrementAndGet())
+                .publishOn(persistScheduler, queueSize)
+                .doOnNext(alert -> persistQueued.decrementAndGet())
+                .buffer(persistBatch)
+                .flatMap(batch -> onPool(persistScheduler, "persist", () -> {
+                    persisted.increment(batch.size());
+                    return alertPersistence.saveNew(batch);
+                }), persistParallelism)
+                .reduce(0, Integer::sum);
+    }
+
+    private <R> Mono<R> onPool(Scheduler scheduler, String stage, Supplier<R> work) {
+        Timer timer = meterRegistry.timer("incois.pipeline.batch", "stage", stage);
+        return Mono.fromSupplier(() -> timer.record(work)).subscribeOn(scheduler);
+    }
+
+    private Counter stageCounter(String stage, String feed) {
+        return Counter.builder("incois.pipeline.items")
+                .description("Items leaving each ingestion stage")
+                .tag("stage", stage)
+                .tag("feed", feed)
+                .register(meterRegistry);
+    }
+
+    // Fills in district/state from coordinates, or coordinates from the district, in one batch
+    private List<OceanAlert> enrich(List<OceanAlert> alerts) {
+        List<OceanAlert> located = new ArrayList<>();
+        for (OceanAlert alert : alerts) {
+            if (alert.getDistrict() == null && alert.getLatitude() != null && alert.getLongitude() != null) {
+                located.add(alert);
+            } else if (alert.getDistrict() != null && (alert.getLatitude() == null || alert.getLongitude() == null)) {
+                double[] latLon = geoResolver.getCentroidForDistrict(alert.getDistrict(), alert.getState());
+                alert.setLatitude(latLon[0]);
+                alert.setLongitude(latLon[1]);
+            }
+        }
+
+        double[] lats = new double[located.size()];
+        double[] lons = new double[located.size()];
+        for (int i = 0; i < located.size(); i++) {
+            lats[i] = located.get(i).getLatitude();
+            lons[i] = located.get(i).getLongitude();
+        }
+        String[][] districtStates = geoResolver.resolveDistrictStates(lats, lons);
+        for (int i = 0; i < located.size(); i++) {
+            located.get(i).setDistrict(districtStates[i][0]);
+            located.get(i).setState(districtStates[i][1]);
+        }
+        return alerts;
+    }
+}
@@ -0,0 +1,191 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.util.DistrictIndex;
+import com.oceanberg.backend.util.GeoUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * District reverse-geocoding over the in-memory JTS index. The index is loaded off the
+ * startup thread once the application is ready; lookups made before then wait for the load.
+ * <p>
+ * Stations and track points repeat the same coordinates every cycle, so answers are memoized
+ * per fixed-size grid cell. A cell is only cached when the whole cell resolves to the same
+ * answer; cells a boundary runs through are remembered as such and always take the exact test.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "geo.resolver.backend", havingValue = "memory", matchIfMissing = true)
+public class JtsGeoResolver implements GeoResolver {
+
+    // Below this many points a batch is resolved on the caller's thread, above it on the batch pool
+    private static final int PARALLEL_THRESHOLD = 512;
+
+    // Dedicated so large backfills don't crowd out other users of the common pool
+    private final ForkJoinPool batchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    // Marks cells whose answer varies inside the cell
+    private static final String[] MIXED_CELL = new String[0];
+
+    private final double cellDegrees;
+    private final Cache<Long, String[]> cellCache;
+    private final Counter exactLookups;
+
+    private volatile DistrictIndex index;
+
+    public JtsGeoResolver(@Value("${geo.resolver.cache.cell-degrees:0.01}") double cellDegrees,
+                          @Value("${geo.resolver.cache.max-cells:100000}") long maxCells,
+                          MeterRegistry meterRegistry) {
+        this.cellDegrees = cellDegrees;
+        this.cellCache = Caffeine.newBuilder()
+                .maximumSize(maxCells)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cellCache, "geo.resolver.cells");
+        this.exactLookups = Counter.builder("geo.resolver.exact.lookups")
+                .description("Lookups that fell through the cell cache to an exact polygon test")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread loader = new Thread(() -> {
+            long start = System.nanoTime();
+            DistrictIndex loaded = index();
+            log.info("District index ready: {} polygons in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        }, "geo-index-warmup");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Override
+    public String[] resolveDistrictState(double lat, double lon) {
+        return resolve(index(), lat, lon);
+    }
+
+    private String[] resolve(DistrictIndex current, double lat, double lon) {
+        long cellLat = (long) Math.floor(lat / cellDegrees);
+        long cellLon = (long) Math.floor(lon / cellDegrees);
+        long key = (cellLat << 32) | (cellLon & 0xFFFFFFFFL);
+
+        String[] cached = cellCache.get(key, k -> {
+            String[] uniform = current.resolveCell(cellLat * cellDegrees, cellLon * cellDegrees, cellDegrees);
+            return uniform != null ? uniform : MIXED_CELL;
+        });
+        if (cached != MIXED_CELL) return cached.clone();
+
+        exactLookups.increment();
+        return current.resolve(lat, lon);
+    }
+
+    /**
+     * Lookups are independent and the index is immutable, so large batches are split across
+     * the batch pool and scale with core count.
+     */
+    @Override
+    public String[][] resolveDistrictStates(double[] lats, double[] lons) {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException("lats and lons differ in length: " + lats.length + " vs " + lons.length);
+        }
+        DistrictIndex current = index();
+        String[][] results = new String[lats.length][];
+        if (lats.length < PARALLEL_THRESHOLD) {
+            // Plain loop: compute() here would fork its halves onto the common pool
+            for (int i = 0; i < lats.length; i++) {
+                results[i] = resolve(current, lats[i], lons[i]);
+            }
+        } else {
+            batchPool.invoke(new ResolveTask(this, current, lats, lons, results, 0, lats.length));
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchPool.shutdown();
+    }
+
+    @Override
+    public double[] getCentroidForDistrict(String district, String state) {
+        return index().centroid(district, state);
+    }
+
+    @Override
+    public List<String[]> districts() {
+        return index().districts();
+    }
+
+    @Override
+    public boolean isReady() {
+        return index != null;
+    }
+
+    @Override
+    public int districtCount() {
+        DistrictIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    @Override
+    public Throwable loadFailure() {
+        return index == null ? null : GeoUtil.loadFailure();
+    }
+
+    private DistrictIndex index() {
+        DistrictIndex current = index;
+        if (current == null) {
+            // Only callers racing the warm-up get here; GeoUtil loads exactly once
+            current = GeoUtil.index();
+            index = current;
+        }
+        return current;
+    }
+
+    private static final class ResolveTask extends RecursiveAction {
+        private final JtsGeoResolver resolver;
+        private final DistrictIndex index;
+        private final double[] lats;
+        private final double[] lons;
+        private final String[][] results;
+        private final int from;
+        private final int to;
+
+        ResolveTask(JtsGeoResolver resolver, DistrictIndex index, double[] lats, double[] lons,
+                    String[][] results, int from, int to) {
+            this.resolver = resolver;
+            this.index = index;
+            this.lats = lats;
+            this.lons = lons;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD / 4) {
+                for (int i = from; i < to; i++) {
+                    results[i] = resolver.resolve(index, lats[i], lons[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ResolveTask(resolver, index, lats, lons, results, from, mid),
+                    new ResolveTask(resolver, index, lats, lons, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.model.DistrictPolygonEntity;
+import com.oceanberg.backend.repository.DistrictPolygonRepository;
+import com.oceanberg.backend.util.DistrictShape;
+import com.oceanberg.backend.util.GeoUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonMultiPolygon;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * District reverse-geocoding against the shared {@code district_polygons} collection, so app
+ * nodes don't each hold every polygon on heap. The collection is seeded (idempotently, so
+ * several nodes may race) from the bundled GeoJSON once the application is ready, and
+ * re-seeded only when that GeoJSON changes.
+ * <p>
+ * A point is resolved with a {@code $geoIntersects} query, falling back to {@code $nearSphere}
+ * within the offshore cutoff; both return names only, never polygons. Stations and track
+ * points repeat every cycle, so answers are kept per point and a batch only queries the
+ * distinct points not seen before.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "geo.resolver.backend", havingValue = "mongo")
+public class MongoGeoResolver implements GeoResolver {
+
+    // Same cutoff as the in-memory index: 4.5° ≈ 500 km
+    private static final double OFFSHORE_CUTOFF_METERS = 500_000;
+    private static final String[] OFFSHORE = {"Offshore", "Offshore"};
+    private static final double[] NO_CENTROID = {0.0, 0.0};
+
+    // Records which version of the bundled GeoJSON district_polygons was seeded from
+    private static final String SEED_COLLECTION = "district_polygons_seed";
+    private static final String SEED_MARKER_ID = "district_polygons";
+    // Bump when the stored document shape changes, so existing collections are re-seeded
+    private static final int SEED_FORMAT = 1;
+
+    private final MongoTemplate mongoTemplate;
+    private final DistrictPolygonRepository repository;
+    // {lat, lon} -> {district, state}
+    private final Cache<List<Double>, String[]> resolved;
+
+    private volatile boolean ready;
+    private volatile int districtCount;
+    private volatile Throwable loadFailure;
+
+    public MongoGeoResolver(MongoTemplate mongoTemplate,
+                            DistrictPolygonRepository repository,
+                            @Value("${geo.resolver.cache.max-cells:100000}") long maxPoints,
+                            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.repository = repository;
+        this.resolved = Caffeine.newBuilder()
+                .maximumSize(maxPoints)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resolved, "geo.resolver.points");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Thread seeder = new Thread(this::seedDistrictPolygons, "geo-polygon-seed");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    private void seedDistrictPolygons() {
+        try {
+            List<DistrictShape> shapes = GeoUtil.loadDistrictShapes();
+            String version = sourceVersion(shapes);
+            Document marker = mongoTemplate.findById(SEED_MARKER_ID, Document.class, SEED_COLLECTION);
+            if (marker != null && version.equals(marker.getString("version"))) {
+                log.info("district_polygons already seeded from this GeoJSON ({} districts); skipping seed", marker.get("districts"));
+            } else {
+                int rejected = upsertDistricts(shapes);
+                mongoTemplate.save(new Document("_id", SEED_MARKER_ID)
+                        .append("version", version)
+                        .append("districts", shapes.size() - rejected)
+                        .append("rejected", rejected)
+                        .append("seededAt", new Date()), SEED_COLLECTION);
+                log.info("Seeded {} of {} districts into district_polygons", shapes.size() - rejected, shapes.size());
+                resolved.invalidateAll();
+            }
+            districtCount = (int) repository.count();
+        } catch (Exception e) {
+            log.error("Seeding district_polygons failed", e);
+            loadFailure = e;
+        } finally {
+            ready = true;
+        }
+    }
+
+    // One unordered bulk upsert; districts dropped from the GeoJSON are removed. Returns how many were rejected.
+    private int upsertDistricts(List<DistrictShape> shapes) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DistrictPolygonEntity.class);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < shapes.size(); i++) {
+            DistrictPolygonEntity entity = toEntity(i, shapes.get(i));
+            ids.add(entity.getId());
+            bulk.replaceOne(new Query(Criteria.where("_id").is(entity.getId())), entity, FindAndReplaceOptions.options().upsert());
+        }
+
+        int rejected = 0;
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // 2dsphere rejects self-intersecting rings; those districts just can't be matched
+            for (BulkWriteError error : e.getErrors()) {
+                DistrictShape shape = shapes.get(error.getIndex());
+                log.warn("Skipping district {} ({}): {}", shape.district(), shape.state(), error.getMessage());
+            }
+            rejected = e.getErrors().size();
+        }
+        mongoTemplate.remove(new Query(Criteria.where("_id").nin(ids)), DistrictPolygonEntity.class);
+        return rejected;
+    }
+
+    @Override
+    public String[] resolveDistrictState(double lat, double lon) {
+        return resolved.get(List.of(lat, lon), k -> query(lat, lon)).clone();
+    }
+
+    /**
+     * Batches repeat coordinates heavily (stations, track points re-sent each cycle), so each
+     * distinct point is looked up once, and only if no earlier lookup answered it.
+     */
+    @Override
+    public String[][] resolveDistrictStates(double[] lats, double[] lons) {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException("lats and lons differ in length: " + lats.length + " vs " + lons.length);
+        }
+        String[][] results = new String[lats.length][];
+        for (int i = 0; i < lats.length; i++) {
+            results[i] = resolveDistrictState(lats[i], lons[i]);
+        }
+        return results;
+    }
+
+    // Containing district, else the nearest within the cutoff; both read names only
+    private String[] query(double lat, double lon) {
+        GeoJsonPoint point = new GeoJsonPoint(lon, lat);
+
+        Query inside = new Query(Criteria.where("polygon").intersects(point)).limit(1);
+        inside.fields().include("district", "state");
+        DistrictPolygonEntity hit = mongoTemplate.findOne(inside, DistrictPolygonEntity.class);
+
+        if (hit == null) {
+            Query near = new Query(Criteria.where("polygon").nearSphere(point).maxDistance(OFFSHORE_CUTOFF_METERS)).limit(1);
+            near.fields().include("district", "state");
+            hit = mongoTemplate.findOne(near, DistrictPolygonEntity.class);
+        }
+
+        return hit == null ? OFFSHORE.clone() : new String[]{hit.getDistrict(), hit.getState()};
+    }
+
+    @Override
+    public double[] getCentroidForDistrict(String district, String state) {
+        String stateKey = GeoUtil.normalizeName(state);
+        DistrictPolygonEntity match = repository
+                .findFirstByStateKeyAndDistrictKey(stateKey, GeoUtil.normalizeName(district))
+                .orElse(null);
+        if (match != null && match.getCentroid() != null) {
+            return new double[]{match.getCentroid().getY(), match.getCentroid().getX()};
+        }
+
+        // ✅ fallback: area-weighted centroid of the state's districts
+        double lat = 0, lon = 0, area = 0;
+        for (DistrictPolygonEntity e : repository.findByStateKey(stateKey)) {
+            if (e.getCentroid() == null) continue;
+            lat += e.getCentroid().getY() * e.getArea();
+            lon += e.getCentroid().getX() * e.getArea();
+            area += e.getArea();
+        }
+        return area > 0 ? new double[]{lat / area, lon / area} : NO_CENTROID.clone();
+    }
+
+    @Override
+    public List<String[]> districts() {
+        Query names = new Query();
+        names.fields().include("district", "state");
+        List<String[]> districts = new ArrayList<>();
+        for (DistrictPolygonEntity e : mongoTemplate.find(names, DistrictPolygonEntity.class)) {
+            districts.add(new String[]{e.getDistrict(), e.getState()});
+        }
+        return districts;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int districtCount() {
+        return districtCount;
+    }
+
+    @Override
+    public Throwable loadFailure() {
+        return loadFailure;
+    }
+
+    private static DistrictPolygonEntity toEntity(int order, DistrictShape shape) {
+        String districtKey = GeoUtil.normalizeName(shape.district());
+        String stateKey = GeoUtil.normalizeName(shape.state());
+
+        List<GeoJsonPolygon> polygons = new ArrayList<>();
+        Geometry geometry = shape.geometry();
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            polygons.add(toGeoJson((Polygon) geometry.getGeometryN(i)));
+        }
+
+        DistrictPolygonEntity entity = new DistrictPolygonEntity(shape.district(), shape.state(), new GeoJsonMultiPolygon(polygons));
+        // Deterministic id, so re-seeding (or two nodes seeding at once) overwrites instead of duplicating
+        entity.setId(stateKey + "/" + districtKey + "/" + order);
+        entity.setDistrictKey(districtKey);
+        entity.setStateKey(stateKey);
+        Coordinate c = geometry.getCentroid().getCoordinate();
+        entity.setCentroid(new GeoJsonPoint(c.x, c.y));
+        entity.setArea(geometry.getArea());
+        return entity;
+    }
+
+    // Changes whenever the bundled districts (names, order or boundaries) or the stored format do
+    private static String sourceVersion(List<DistrictShape> shapes) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(Integer.toString(SEED_FORMAT).getBytes(StandardCharsets.UTF_8));
+        WKBWriter wkb = new WKBWriter();
+        for (DistrictShape shape : shapes) {
+            digest.update((shape.district() + "|" + shape.state() + "|").getBytes(StandardCharsets.UTF_8));
+            digest.update(wkb.write(shape.geometry()));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static GeoJsonPolygon toGeoJson(Polygon polygon) {
+        GeoJsonPolygon result = new GeoJsonPolygon(toPoints(polygon.getExteriorRing()));
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            result = result.withInnerRing(toPoints(polygon.getInteriorRingN(i)));
+        }
+        return result;
+    }
+
+    private static List<Point> toPoints(LineString ring) {
+        List<Point> points = new ArrayList<>(ring.getNumPoints());
+        for (Coordinate c : ring.getCoordinates()) {
+            points.add(new Point(c.x, c.y));
+        }
+        return points;
+    }
+}
@@ -1,87 +1,403 @@
 package com.oceanberg.backend.service;
 
+import com.oceanberg.backend.dto.AlertPage;
+import com.oceanberg.backend.exception.BadRequestException;
 import com.oceanberg.backend.model.OceanAlert;
-import lombok.RequiredArgsConstructor;
+import com.oceanberg.backend.util.AlertCursor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Alert listing and search. Matching is case-insensitive through the normalized search keys of
+ * {@link OceanAlert} (see {@link OceanAlert#searchKey}), so each filter is an equality or range
+ * on a compound index instead of a case-insensitive regex over the whole collection.
+ * <p>
+ * Listings are pages newest first, continued from a cursor on (issueDate, _id) rather than
+ * skipped to: every index below ends in those two fields, so a page costs the same however
+ * deep into the collection it is.
+ * <p>
+ * Alerts near a point or inside a map viewport are a {@code $geoWithin} on the GeoJSON location,
+ * answered from a 2dsphere index that also holds type, colour and issue date.
+ * <p>
+ * Pages are served from {@link AlertQueryCache} until the stored alerts change, keyed on the
+ * query as sent to Mongo, which holds only the normalized search keys.
+ */
 @Service
-@RequiredArgsConstructor
 public class OceanAlertQueryService {
 
     private static final Logger log = LoggerFactory.getLogger(OceanAlertQueryService.class);
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "issueDate").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    // Documents per round trip when streaming a whole result set
+    private static final int STREAM_BATCH = 1_000;
+
+    // Alerts read and updated per round trip by the search-key backfill
+    private static final int BACKFILL_BATCH = 1_000;
+
+    // The equatorial radius MongoDB itself uses to convert metres to radians on a 2dsphere index,
+    // so $centerSphere circles match $nearSphere distances; not the 6371 km mean radius
+    private static final double EARTH_RADIUS_KM = 6_378.1;
+
     private final MongoTemplate mongoTemplate;
+    private final AlertQueryCache queryCache;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public OceanAlertQueryService(MongoTemplate mongoTemplate,
+                                  AlertQueryCache queryCache,
+                                  @Value("${alerts.page.default-size:100}") int defaultPageSize,
+                                  @Value("${alerts.page.max-size:500}") int maxPageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryCache = queryCache;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    //===================== INDEXES =====================//
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSearchIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(OceanAlert.class);
+            indexOps.createIndex(byNewest(new Index()).named("issueDate_id"));
+            indexOps.createIndex(byNewest(new Index().on("typeKey", Sort.Direction.ASC)).named("type_issueDate_id"));
+            indexOps.createIndex(byNewest(new Index().on("typeKey", Sort.Direction.ASC).on("colorKey", Sort.Direction.ASC))
+                    .named("type_color_issueDate_id"));
+            indexOps.createIndex(byNewest(new Index().on("stateKey", Sort.Direction.ASC)).named("state_issueDate_id"));
+            indexOps.createIndex(byNewest(new Index().on("stateKey", Sort.Direction.ASC).on("districtKey", Sort.Direction.ASC))
+                    .named("state_district_issueDate_id"));
+            // Also the district side of a districtOrState search, which can't use the state-led ones
+            indexOps.createIndex(byNewest(new Index().on("districtKey", Sort.Direction.ASC)).named("district_issueDate_id"));
+
+            long backfilled = backfillSearchKeys();
+            if (backfilled > 0) {
+                queryCache.alertsChanged();
+                log.info("Derived search keys for {} stored alerts.", backfilled);
+            }
+        } catch (Exception e) {
+            log.warn("Could not ensure the ocean_alerts search indexes: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureGeoIndex() {
+        try {
+            // Geo first, so a viewport alone can use it; the filters after it narrow the scan
+            mongoTemplate.indexOps(OceanAlert.class).createIndex(new CompoundIndexDefinition(
+                    new Document("location", "2dsphere").append("typeKey", 1).append("colorKey", 1).append("issueDate", -1))
+                    .named("location_type_color_issueDate"));
+
+            long backfilled = backfillLocations();
+            if (backfilled > 0) {
+                queryCache.alertsChanged();
+                log.info("Derived locations for {} stored alerts.", backfilled);
+            }
+        } catch (Exception e) {
+            log.warn("Could not ensure the ocean_alerts geo index: {}", e.getMessage());
+        }
+    }
+
+    // Equality fields first, then the page order
+    private static Index byNewest(Index index) {
+        return index.on("issueDate", Sort.Direction.DESC).on("_id", Sort.Direction.DESC);
+    }
+
+    /**
+     * Sets the search keys of alerts stored before they existed, a page at a time by
+     * {@code _id}. Keys are derived here through {@link OceanAlert#searchKey}, the same code as
+     * on write and query, so a backfilled key always matches. Returns the number of alerts updated.
+     */
+    public long backfillSearchKeys() {
+        long updated = 0;
+        Object lastId = null;
+        while (true) {
+            Query next = Query.query(Criteria.where("typeKey").exists(false))
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(BACKFILL_BATCH);
+            if (lastId != null) next.addCriteria(Criteria.where("_id").gt(lastId));
+            next.fields().include("type", "color", "district", "state");
+            List<Document> page = mongoTemplate.find(next, Document.class, mongoTemplate.getCollectionName(OceanAlert.class));
+            if (page.isEmpty()) return updated;
+            lastId = page.get(page.size() - 1).get("_id");
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OceanAlert.class);
+            for (Document doc : page) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(doc.get("_id"))), new Update()
+                        .set("typeKey", keyOf(doc, "type"))
+                        .set("colorKey", keyOf(doc, "color"))
+                        .set("districtKey", keyOf(doc, "district"))
+                        .set("stateKey", keyOf(doc, "state")));
+            }
+            updated += bulk.execute().getModifiedCount();
+        }
+    }
+
+    // Null unless a string, as the mapped field would be
+    private static String keyOf(Document doc, String field) {
+        return doc.get(field) instanceof String value ? OceanAlert.searchKey(value) : null;
+    }
+
+    /**
+     * Sets the GeoJSON location of alerts stored before it existed, in one server-side update,
+     * under the same rules as {@link OceanAlert#withLocation()}. Returns the number updated.
+     */
+    public long backfillLocations() {
+        Query positioned = Query.query(new Criteria().andOperator(
+                Criteria.where("location").exists(false),
+                Criteria.where("latitude").type(JsonSchemaObject.Type.DOUBLE).gte(-90).lte(90),
+                Criteria.where("longitude").type(JsonSchemaObject.Type.DOUBLE).gte(-180).lte(180),
+                new Criteria().norOperator(Criteria.where("latitude").is(0.0).and("longitude").is(0.0))));
+        AggregationUpdate location = AggregationUpdate.update()
+                .set("location").toValue(new Document("type", "Point")
+                        .append("coordinates", List.of("$longitude", "$latitude")));
+        return mongoTemplate.updateMulti(positioned, location, OceanAlert.class).getModifiedCount();
+    }
 
+    //===================== SEARCH =====================//
     /**
      * Search high severity alerts for all hazard types (case-insensitive).
      */
     public List<OceanAlert> searchHighSeverityAlerts() {
-        Query query = new Query();
+        Query query = highSeverityQuery();
+        log.info("Executing High Severity Mongo Query: {}", query.getQueryObject().toJson());
+        return mongoTemplate.find(query, OceanAlert.class);
+    }
 
-        Criteria tsunamiCriteria = Criteria.where("type").regex("^tsunami$", "i")
-                .and("color").regex("^red$", "i");
+    static Query highSeverityQuery() {
+        // Each branch is an equality on typeKey plus colorKey: one index range per branch
+        return new Query(new Criteria().orOperator(
+                Criteria.where("typeKey").is("tsunami").and("colorKey").is("red"),
+                Criteria.where("typeKey").is("storm surge").and("colorKey").in("red", "orange"),
+                Criteria.where("typeKey").is("high wave").and("colorKey").in("red", "orange"),
+                Criteria.where("typeKey").is("ocean current").and("colorKey").is("red"),
+                Criteria.where("typeKey").is("swell surge").and("colorKey").in("red", "orange")
+        ));
+    }
 
-        Criteria stormSurgeCriteria = Criteria.where("type").regex("^storm surge$", "i")
-                .and("color").in("red", "orange");
+    //===================== PAGED LISTINGS =====================//
+    public AlertPage listAlerts(String cursor, Integer size) {
+        return page(List.of(), cursor, size);
+    }
 
-        Criteria highWaveCriteria = Criteria.where("type").regex("^high wave$", "i")
-                .and("color").in("red", "orange");
+    public AlertPage listByType(String type, String cursor, Integer size) {
+        return page(List.of(Criteria.where("typeKey").is(OceanAlert.searchKey(type))), cursor, size);
+    }
 
-        Criteria oceanCurrentCriteria = Criteria.where("type").regex("^ocean current$", "i")
-                .and("color").regex("^red$", "i");
+    public AlertPage listByDistrict(String district, String cursor, Integer size) {
+        return page(List.of(Criteria.where("districtKey").is(OceanAlert.searchKey(district))), cursor, size);
+    }
 
-        Criteria swellSurgeCriteria = Criteria.where("type").regex("^swell surge$", "i")
-                .and("color").in("red", "orange");
+    public AlertPage listByState(String state, String cursor, Integer size) {
+        return page(List.of(Criteria.where("stateKey").is(OceanAlert.searchKey(state))), cursor, size);
+    }
 
-        query.addCriteria(new Criteria().orOperator(
-                tsunamiCriteria,
-                stormSurgeCriteria,
-                highWaveCriteria,
-                oceanCurrentCriteria,
-                swellSurgeCriteria
-        ));
+    /**
+     * Search alerts with multiple optional filters (case-insensitive), a page at a time.
+     */
+    public AlertPage searchAlerts(
+            String type,
+            String districtOrState,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String color,
+            String cursor,
+            Integer size
+    ) {
+        return page(searchCriteria(type, districtOrState, startDate, endDate, color), cursor, size);
+    }
 
-        log.info("Executing High Severity Mongo Query: {}", query.getQueryObject().toJson());
-        return mongoTemplate.find(query, OceanAlert.class);
+    /**
+     * Alerts within {@code radiusKm} of a point, newest first, a page at a time, with the same
+     * optional filters as {@link #searchAlerts}.
+     */
+    public AlertPage listNear(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            String type,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String color,
+            String cursor,
+            Integer size
+    ) {
+        if (!(radiusKm > 0)) throw new BadRequestException("radiusKm must be positive");
+        checkPosition(latitude, longitude);
+        List<Criteria> filters = new ArrayList<>(searchCriteria(type, null, startDate, endDate, color));
+        filters.add(0, near(latitude, longitude, radiusKm));
+        return page(filters, cursor, size);
     }
 
     /**
-     * Search alerts with multiple optional filters (case-insensitive).
+     * Alerts inside a latitude/longitude box (a map viewport), newest first, a page at a time,
+     * with the same optional filters as {@link #searchAlerts}.
      */
-    public List<OceanAlert> searchAlerts(
+    public AlertPage listWithin(
+            double south,
+            double west,
+            double north,
+            double east,
+            String type,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String color,
+            String cursor,
+            Integer size
+    ) {
+        checkPosition(south, west);
+        checkPosition(north, east);
+        // A polygon ring can't hold a hemisphere or more, nor cross the antimeridian this way
+        if (south >= north || west >= east || east - west >= 180) {
+            throw new BadRequestException("The box must have south < north, west < east and span under 180° of longitude");
+        }
+        List<Criteria> filters = new ArrayList<>(searchCriteria(type, null, startDate, endDate, color));
+        filters.add(0, within(south, west, north, east));
+        return page(filters, cursor, size);
+    }
+
+    private static void checkPosition(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new BadRequestException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+    }
+
+    /**
+     * Every alert matching the search, newest first, read lazily from a Mongo cursor a batch at
+     * a time. The stream holds the cursor open and must be closed.
+     */
+    public Stream<OceanAlert> streamSearch(
+            String type,
+            String districtOrState,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String color
+    ) {
+        List<Criteria> criteria = searchCriteria(type, districtOrState, startDate, endDate, color);
+        Query query = criteria.isEmpty() ? new Query() : new Query(new Criteria().andOperator(criteria));
+        query.with(NEWEST_FIRST).cursorBatchSize(STREAM_BATCH);
+        log.info("Streaming Mongo Query: {}", query.getQueryObject().toJson());
+        return mongoTemplate.stream(query, OceanAlert.class);
+    }
+
+    // Up to `size` alerts after the cursor; one more is read to tell whether another page follows
+    private AlertPage page(List<Criteria> filters, String cursor, Integer size) {
+        int limit = pageSize(size);
+        List<Criteria> criteria = new ArrayList<>(filters);
+        if (cursor != null && !cursor.isBlank()) criteria.add(after(decodeCursor(cursor)));
+
+        Query query = criteria.isEmpty() ? new Query() : new Query(new Criteria().andOperator(criteria));
+        query.with(NEWEST_FIRST).limit(limit + 1);
+        String json = query.getQueryObject().toJson();
+        return queryCache.get(json, limit, () -> {
+            log.debug("Executing Mongo Query: {}", json);
+            return fetchPage(query, limit);
+        });
+    }
+
+    private AlertPage fetchPage(Query query, int limit) {
+        List<OceanAlert> items = mongoTemplate.find(query, OceanAlert.class);
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            OceanAlert last = items.get(limit - 1);
+            nextCursor = new AlertCursor(last.getIssueDate(), last.getId()).encode();
+        }
+        return AlertPage.builder()
+                // Shared by every caller the page is cached for
+                .items(List.copyOf(items))
+                .size(items.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) return defaultPageSize;
+        if (size < 1) throw new BadRequestException("Page size must be at least 1");
+        return Math.min(size, maxPageSize);
+    }
+
+    private static AlertCursor decodeCursor(String cursor) {
+        try {
+            return AlertCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Strictly after the cursor in (issueDate desc, _id desc) order; alerts without an issue date sort last
+    static Criteria after(AlertCursor cursor) {
+        Object id = ObjectId.isValid(cursor.id()) ? new ObjectId(cursor.id()) : cursor.id();
+        if (cursor.issueDate() == null) {
+            return Criteria.where("issueDate").is(null).and("_id").lt(id);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("issueDate").lt(cursor.issueDate()),
+                Criteria.where("issueDate").is(cursor.issueDate()).and("_id").lt(id),
+                Criteria.where("issueDate").is(null)
+        );
+    }
+
+    // Spelled out as documents (not Circle/GeoJsonPolygon) so the query stays plain JSON for the cache key
+    static Criteria near(double latitude, double longitude, double radiusKm) {
+        return Criteria.where("location").is(new Document("$geoWithin", new Document("$centerSphere",
+                List.of(List.of(longitude, latitude), radiusKm / EARTH_RADIUS_KM))));
+    }
+
+    // Edges are great circles, not parallels: the north and south edges of a wide box bow poleward
+    static Criteria within(double south, double west, double north, double east) {
+        List<List<Double>> ring = List.of(
+                List.of(west, south), List.of(east, south), List.of(east, north), List.of(west, north), List.of(west, south));
+        return Criteria.where("location").is(new Document("$geoWithin", new Document("$geometry",
+                new Document("type", "Polygon").append("coordinates", List.of(ring)))));
+    }
+
+    static List<Criteria> searchCriteria(
             String type,
             String districtOrState,
             LocalDateTime startDate,
             LocalDateTime endDate,
             String color
     ) {
-        Query query = new Query();
         List<Criteria> criteriaList = new ArrayList<>();
 
         // Type filter (case-insensitive)
         if (type != null && !type.isBlank()) {
-            criteriaList.add(Criteria.where("type").regex("^" + type.trim() + "$", "i"));
+            criteriaList.add(Criteria.where("typeKey").is(OceanAlert.searchKey(type)));
         }
 
         // Color filter (case-insensitive)
         if (color != null && !color.isBlank()) {
-            criteriaList.add(Criteria.where("color").regex("^" + color.trim() + "$", "i"));
+            criteriaList.add(Criteria.where("colorKey").is(OceanAlert.searchKey(color)));
         }
 
         // District or State filter (case-insensitive)
         if (districtOrState != null && !districtOrState.isBlank()) {
-            String value = districtOrState.trim();
+            String value = OceanAlert.searchKey(districtOrState);
             criteriaList.add(new Criteria().orOperator(
-                    Criteria.where("district").regex("^" + value + "$", "i"),
-                    Criteria.where("state").regex("^" + value + "$", "i")
+                    Criteria.where("districtKey").is(value),
+                    Criteria.where("stateKey").is(value)
             ));
         }
 
@@ -97,13 +413,6 @@ public class OceanAlertQueryService {
             }
             criteriaList.add(dateCriteria);
         }
-
-        // Combine all criteria with AND
-        if (!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
-        }
-
-        log.info("Executing Mongo Query: {}", query.getQueryObject().toJson());
-        return mongoTemplate.find(query, OceanAlert.class);
+        return criteriaList;
     }
 }
@@ -0,0 +1,24 @@
+package com.oceanberg.backend.service;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class OceanCurrentFeedAdapter extends AdvisoryFeedAdapter {
+
+    private static final String CURRENT_FEED =
+            "https://samudra.incois.gov.in/incoismobileappdata/rest/incois/currentslatestdata";
+
+    public OceanCurrentFeedAdapter(FeedClient feedClient, AdvisoryLocator advisoryLocator) {
+        super(feedClient, advisoryLocator, "Ocean Current", "CurrentsJson");
+    }
+
+    @Override
+    public String name() {
+        return "currents";
+    }
+
+    @Override
+    public String url() {
+        return CURRENT_FEED;
+    }
+}
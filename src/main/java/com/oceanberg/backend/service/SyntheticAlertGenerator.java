@@ -0,0 +1,451 @@
+package com.oceanberg.backend.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.oceanberg.backend.dto.SyntheticJob;
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+
+import static com.oceanberg.backend.service.CoastalLocation.COASTAL_LOCATIONS;
+import static com.oceanberg.backend.service.CoastalLocation.EAST_COAST;
+
+/**
+ * Seeded scenario engine for load and soak tests. Generates alerts shaped like the live feeds,
+ * at any volume:
+ * <ul>
+ *   <li>cyclone tracks: 3-hourly points from genesis at sea to landfall on a coastal district,
+ *       intensifying through the IMD categories;</li>
+ *   <li>high-wave advisories along a stretch of neighbouring coastal districts, re-issued
+ *       every 12 hours while the episode lasts;</li>
+ *   <li>tsunami events: hourly readings from the BPR stations facing the source, and
+ *       threat levels for the coast they face.</li>
+ * </ul>
+ * The same seed on the same day gives the same alerts, fingerprinted like ingested ones, so
+ * a repeated run adds nothing. Alerts go out as unordered bulk inserts, never one at a time.
+ * Runs submitted over HTTP go one at a time on a background thread and are polled by id.
+ */
+@Slf4j
+@Service
+public class SyntheticAlertGenerator {
+
+    public static final String SOURCE = "SYNTHETIC";
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final long PROGRESS_EVERY = 100_000;
+    // Runs remembered for polling; past this many the oldest finished ones are dropped
+    private static final int KEPT_JOBS = 20;
+
+    private static final String[] STORM_NAMES = {
+            "FENGAL", "DANA", "REMAL", "MICHAUNG", "MIDHILI", "HAMOON", "TEJ", "BIPARJOY", "MOCHA",
+            "MANDOUS", "SITRANG", "ASANI", "JAWAD", "GULAB", "YAAS", "TAUKTAE", "NIVAR", "AMPHAN"
+    };
+
+    // {code, real name, latitude, longitude, faces the east coast}
+    private static final Object[][] BPR_STATIONS = {
+            {"TB01", "Bay of Bengal North", 18.9, 89.1, true},
+            {"TB02", "Bay of Bengal Central", 15.4, 87.2, true},
+            {"TB03", "Andaman Sea", 10.6, 93.4, true},
+            {"TB04", "Bay of Bengal South", 8.9, 86.4, true},
+            {"TA01", "Arabian Sea North", 20.1, 65.3, false},
+            {"TA02", "Arabian Sea Central", 15.3, 68.9, false},
+            {"TA03", "Arabian Sea South", 10.3, 70.5, false}
+    };
+
+    private static final String[] ADVISORY_COLORS = {"Yellow", "Yellow", "Yellow", "Orange", "Orange", "Red"};
+
+    private static final DateTimeFormatter TRACK_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ENGLISH);
+    private static final DateTimeFormatter ADVISORY_TIME = DateTimeFormatter.ofPattern("HH:mm 'hours on' dd-MM-yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter STATION_TIME = DateTimeFormatter.ofPattern("yyyy-MMM-dd HH:mm", Locale.ENGLISH);
+
+    private final MongoTemplate mongoTemplate;
+    private final GeoResolver geoResolver;
+    private final AlertQueryCache queryCache;
+    private final int batchSize;
+    private final Counter inserted;
+
+    private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "synthetic-alerts");
+        t.setDaemon(true);
+        return t;
+    });
+    // Latest state of each run, oldest first; guarded by itself
+    private final Map<String, SyntheticJob> jobs = new LinkedHashMap<>();
+
+    public SyntheticAlertGenerator(MongoTemplate mongoTemplate,
+                                   GeoResolver geoResolver,
+                                   AlertQueryCache queryCache,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${incois.synthetic.batch-size:5000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.geoResolver = geoResolver;
+        this.queryCache = queryCache;
+        this.batchSize = batchSize;
+        this.inserted = Counter.builder("incois.synthetic.inserted")
+                .description("Synthetic alerts written by the load-test generator")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+    }
+
+    /**
+     * Queues a {@link #generate} run and returns at once; runs go one at a time.
+     */
+    public SyntheticJob submit(long seed, long count, int days) {
+        SyntheticJob job = SyntheticJob.builder()
+                .id(UUID.randomUUID().toString())
+                .status(SyntheticJob.Status.QUEUED)
+                .seed(seed)
+                .count(count)
+                .days(days)
+                .submittedAt(LocalDateTime.now())
+                .build();
+        update(job);
+        jobRunner.execute(() -> run(job));
+        return job;
+    }
+
+    public Optional<SyntheticJob> job(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    private void run(SyntheticJob queued) {
+        SyntheticJob running = queued.toBuilder().status(SyntheticJob.Status.RUNNING).build();
+        update(running);
+        try {
+            long stored = generate(queued.getSeed(), queued.getCount(), queued.getDays(),
+                    progress -> update(running.toBuilder().stored(progress).build()));
+            update(running.toBuilder().status(SyntheticJob.Status.DONE).stored(stored)
+                    .finishedAt(LocalDateTime.now()).build());
+        } catch (Exception e) {
+            log.error("Synthetic run {} failed", queued.getId(), e);
+            update(running.toBuilder().status(SyntheticJob.Status.FAILED).error(String.valueOf(e.getMessage()))
+                    .finishedAt(LocalDateTime.now()).build());
+        }
+    }
+
+    private void update(SyntheticJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<SyntheticJob> oldest = jobs.values().iterator();
+            while (jobs.size() > KEPT_JOBS && oldest.hasNext()) {
+                if (oldest.next().getFinishedAt() != null) oldest.remove();
+            }
+        }
+    }
+
+    public long generate(long seed, long count, int days) {
+        return generate(seed, count, days, stored -> { });
+    }
+
+    /**
+     * Generates {@code count} alerts issued over the {@code days} days before today and stores
+     * them in batches, passing the running total stored to {@code progress} after each. Returns
+     * the number inserted; fewer than {@code count} when part of the run was already stored, or
+     * when two events produced the same advisory.
+     */
+    public long generate(long seed, long count, int days, LongConsumer progress) {
+        Random random = new Random(seed);
+        // Anchored to the day, so a run repeated the same day yields the same alerts
+        LocalDateTime end = LocalDate.now().atStartOfDay();
+        long spanHours = Math.max(1, days * 24L);
+
+        log.info("Generating {} synthetic alerts over {} days (seed {})...", count, days, seed);
+        long started = System.nanoTime();
+        long generated = 0;
+        long stored = 0;
+        long nextReport = PROGRESS_EVERY;
+        List<OceanAlert> batch = new ArrayList<>(batchSize);
+        while (generated < count) {
+            LocalDateTime start = end.minusHours((long) (random.nextDouble() * spanHours));
+            double pick = random.nextDouble();
+            List<OceanAlert> event = pick < 0.08 ? cycloneTrack(random, start)
+                    : pick < 0.16 ? tsunamiEvent(random, start)
+                    : highWaveEpisode(random, start);
+
+            for (OceanAlert alert : event) {
+                if (generated == count) break;
+                // Events starting near the end of the window would run past it; they're cut off there
+                if (alert.getIssueDate().isAfter(end)) continue;
+                batch.add(alert);
+                generated++;
+                if (batch.size() == batchSize) {
+                    stored += insert(batch);
+                    batch.clear();
+                    progress.accept(stored);
+                }
+            }
+            if (generated >= nextReport) {
+                log.info("Synthetic alerts: {} of {} generated, {} stored", generated, count, stored);
+                nextReport += PROGRESS_EVERY;
+            }
+        }
+        stored += insert(batch);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Stored {} synthetic alerts in {} s ({} alerts/s).", stored, String.format("%.1f", seconds),
+                String.format("%.0f", stored / Math.max(seconds, 1e-9)));
+        return stored;
+    }
+
+    public long deleteAll() {
+        long deleted = mongoTemplate.remove(Query.query(Criteria.where("source").is(SOURCE)), OceanAlert.class)
+                .getDeletedCount();
+        if (deleted > 0) queryCache.alertsChanged();
+        log.info("Deleted {} synthetic alerts.", deleted);
+        return deleted;
+    }
+
+    //===================== SCENARIOS =====================//
+
+    // Genesis out at sea, then a curving run to landfall with wind rising to a peak and easing near the coast
+    private List<OceanAlert> cycloneTrack(Random random, LocalDateTime genesis) {
+        boolean bayOfBengal = random.nextDouble() < 0.75;
+        CoastalLocation landfall = bayOfBengal
+                ? COASTAL_LOCATIONS.get(EAST_COAST + 1 + random.nextInt(COASTAL_LOCATIONS.size() - EAST_COAST - 1))
+                : COASTAL_LOCATIONS.get(random.nextInt(EAST_COAST - 1));
+        double startLat = landfall.latitude() - (2 + random.nextDouble() * 4);
+        double startLon = landfall.longitude() + (bayOfBengal ? 1 : -1) * (3 + random.nextDouble() * 4);
+
+        String storm = STORM_NAMES[random.nextInt(STORM_NAMES.length)] + "-" + genesis.getYear();
+        int points = 12 + random.nextInt(21);
+        int peakWind = 35 + random.nextInt(100);
+        double curve = (random.nextDouble() - 0.5) * 2;
+
+        List<OceanAlert> track = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            double f = i / (double) (points - 1);
+            double lat = startLat + (landfall.latitude() - startLat) * f + curve * Math.sin(Math.PI * f) + noise(random, 0.05);
+            double lon = startLon + (landfall.longitude() - startLon) * f + noise(random, 0.05);
+            int wind = (int) Math.round(17 + (peakWind - 17) * Math.sin(Math.PI * Math.min(1, f * 1.3) * 0.9));
+            LocalDateTime time = genesis.plusHours(3L * i);
+            String category = category(wind);
+
+            track.add(OceanAlert.builder()
+                    .type("Cyclone")
+                    .latitude(lat)
+                    .longitude(lon)
+                    .color(wind >= 64 ? "Red" : wind >= 34 ? "Orange" : "Yellow")
+                    .message(category)
+                    .source(SOURCE)
+                    .issueDate(time)
+                    .details(Map.of(
+                            "storm", storm,
+                            "status", i == points - 1 ? "Landfall" : "Observed",
+                            "wind_speed", String.valueOf(wind),
+                            "date_time", TRACK_TIME.format(time)
+                    ))
+                    .build());
+        }
+        return track;
+    }
+
+    // Neighbouring districts along the coast, one alert each per issue, re-issued every 12 hours
+    private List<OceanAlert> highWaveEpisode(Random random, LocalDateTime start) {
+        int stretch = 1 + random.nextInt(4);
+        int first = random.nextInt(COASTAL_LOCATIONS.size() - stretch + 1);
+        List<CoastalLocation> coast = COASTAL_LOCATIONS.subList(first, first + stretch);
+        int issues = 1 + random.nextInt(6);
+        boolean swell = random.nextDouble() < 0.2;
+        String color = ADVISORY_COLORS[random.nextInt(ADVISORY_COLORS.length)];
+        double low = 1.5 + random.nextDouble() * 2;
+        double high = low + 0.3 + random.nextDouble() * 0.7;
+        String place = coastPhrase(coast);
+
+        List<OceanAlert> alerts = new ArrayList<>(issues * stretch);
+        for (int issue = 0; issue < issues; issue++) {
+            LocalDateTime issued = start.plusHours(12L * issue);
+            LocalDateTime validFrom = issued.plusHours(5).withMinute(30);
+            LocalDateTime validTo = validFrom.plusHours(30);
+            String message = String.format(Locale.ROOT,
+                    "%sHigh waves in the range of %.1f - %.1f meters are forecasted during %s to %s for the coast of %s.",
+                    swell ? "Swell Surge Alert: " : "", low, high,
+                    ADVISORY_TIME.format(validFrom), ADVISORY_TIME.format(validTo), place);
+
+            for (CoastalLocation location : coast) {
+                alerts.add(OceanAlert.builder()
+                        .type("High Wave")
+                        .district(location.district().toUpperCase())
+                        .state(location.state().toUpperCase())
+                        .latitude(location.latitude() + noise(random, 0.02))
+                        .longitude(location.longitude() + noise(random, 0.02))
+                        .color(color)
+                        .message(message)
+                        .source(SOURCE)
+                        .issueDate(issued)
+                        .startTime(validFrom)
+                        .endTime(validTo)
+                        .details(Map.of(
+                                "alert", swell ? "Swell Surge Alert" : "High Wave Alert",
+                                "issue_date", issued.toLocalDate().toString()
+                        ))
+                        .build());
+            }
+        }
+        return alerts;
+    }
+
+    // Undersea source off one coast: readings from the stations facing it, threat levels for that coast
+    private List<OceanAlert> tsunamiEvent(Random random, LocalDateTime origin) {
+        boolean eastSource = random.nextDouble() < 0.7;        // Andaman–Sumatra vs Makran
+        double magnitude = 6.5 + random.nextDouble() * 2.7;
+        String threat = magnitude >= 8.5 ? "Red" : magnitude >= 7.8 ? "Orange" : "Yellow";
+        String level = threat.equals("Red") ? "Warning" : threat.equals("Orange") ? "Alert" : "Watch";
+        int readings = 3 + random.nextInt(6);
+
+        List<OceanAlert> alerts = new ArrayList<>();
+        for (Object[] station : BPR_STATIONS) {
+            if ((Boolean) station[4] != eastSource) continue;
+            for (int r = 0; r < readings; r++) {
+                // Hourly, as fingerprints only tell readings of one station apart by the hour
+                LocalDateTime time = origin.plusHours(r);
+                alerts.add(OceanAlert.builder()
+                        .type("Tsunami")
+                        .latitude((Double) station[2])
+                        .longitude((Double) station[3])
+                        .color(threat.toUpperCase())
+                        .message("Tide Station " + station[0] + " (India) - Status: Reporting")
+                        .source(SOURCE)
+                        .issueDate(time)
+                        .details(Map.of(
+                                "station_code", (String) station[0],
+                                "station_real_name", (String) station[1],
+                                "country", "India",
+                                "owner", "INCOIS",
+                                "status", "Reporting",
+                                "raw_date", STATION_TIME.format(time),
+                                "magnitude", String.format(Locale.ROOT, "%.1f", magnitude)
+                        ))
+                        .build());
+            }
+        }
+
+        List<CoastalLocation> coast = eastSource
+                ? COASTAL_LOCATIONS.subList(EAST_COAST, COASTAL_LOCATIONS.size())
+                : COASTAL_LOCATIONS.subList(0, EAST_COAST);
+        for (CoastalLocation location : coast) {
+            int etaMinutes = 60 + random.nextInt(240);
+            alerts.add(OceanAlert.builder()
+                    .type("Tsunami")
+                    .district(location.district().toUpperCase())
+                    .state(location.state().toUpperCase())
+                    .latitude(location.latitude())
+                    .longitude(location.longitude())
+                    .color(threat)
+                    .message(String.format(Locale.ROOT, "Tsunami %s for the coast of %s, %s. Estimated arrival %s.",
+                            level, location.district(), location.state(),
+                            TRACK_TIME.format(origin.plusMinutes(etaMinutes))))
+                    .source(SOURCE)
+                    .issueDate(origin.plusMinutes(20))
+                    .details(Map.of(
+                            "magnitude", String.format(Locale.ROOT, "%.1f", magnitude),
+                            "threat", level,
+                            "eta_minutes", String.valueOf(etaMinutes)
+                    ))
+                    .build());
+        }
+        return alerts;
+    }
+
+    //===================== HELPERS =====================//
+
+    // IMD classification by maximum sustained wind (knots)
+    private static String category(int wind) {
+        if (wind >= 120) return "Super Cyclonic Storm";
+        if (wind >= 90) return "Extremely Severe Cyclonic Storm";
+        if (wind >= 64) return "Very Severe Cyclonic Storm";
+        if (wind >= 48) return "Severe Cyclonic Storm";
+        if (wind >= 34) return "Cyclonic Storm";
+        if (wind >= 28) return "Deep Depression";
+        return "Depression";
+    }
+
+    // "Udupi and Mangalore, Karnataka; Kozhikode, Kerala"
+    private static String coastPhrase(List<CoastalLocation> coast) {
+        Map<String, List<String>> byState = new LinkedHashMap<>();
+        for (CoastalLocation location : coast) {
+            byState.computeIfAbsent(location.state(), s -> new ArrayList<>()).add(location.district());
+        }
+        List<String> parts = new ArrayList<>();
+        byState.forEach((state, districts) -> {
+            String names = districts.size() == 1 ? districts.get(0)
+                    : String.join(", ", districts.subList(0, districts.size() - 1)) + " and " + districts.get(districts.size() - 1);
+            parts.add(names + ", " + state);
+        });
+        return String.join("; ", parts);
+    }
+
+    private static double noise(Random random, double amplitude) {
+        return (random.nextDouble() * 2 - 1) * amplitude;
+    }
+
+    // Districts for points at sea or on the track, fingerprints, then one unordered bulk insert
+    private long insert(List<OceanAlert> batch) {
+        if (batch.isEmpty()) return 0;
+
+        List<OceanAlert> located = new ArrayList<>();
+        for (OceanAlert alert : batch) {
+            if (alert.getDistrict() == null) located.add(alert);
+        }
+        double[] lats = new double[located.size()];
+        double[] lons = new double[located.size()];
+        for (int i = 0; i < located.size(); i++) {
+            lats[i] = located.get(i).getLatitude();
+            lons[i] = located.get(i).getLongitude();
+        }
+        String[][] districtStates = geoResolver.resolveDistrictStates(lats, lons);
+        for (int i = 0; i < located.size(); i++) {
+            located.get(i).setDistrict(districtStates[i][0]);
+            located.get(i).setState(districtStates[i][1]);
+        }
+
+        Map<String, OceanAlert> unique = new LinkedHashMap<>();
+        for (OceanAlert alert : batch) {
+            alert.setFingerprint(AlertPersistenceService.fingerprint(alert));
+            unique.putIfAbsent(alert.getFingerprint(), alert);
+        }
+
+        BulkWriteResult result;
+        try {
+            result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OceanAlert.class)
+                    .insert(new ArrayList<>(unique.values()))
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Already stored by an earlier run with the same seed
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+            result = e.getResult();
+        }
+        inserted.increment(result.getInsertedCount());
+        if (result.getInsertedCount() > 0) queryCache.alertsChanged();
+        return result.getInsertedCount();
+    }
+}
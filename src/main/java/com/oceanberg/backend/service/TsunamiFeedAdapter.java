@@ -0,0 +1,83 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.model.OceanAlert;
+import com.oceanberg.backend.util.BprStation;
+import com.oceanberg.backend.util.BprStationReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tsunami BPR stations, read from the XML as it streams in. Only stations currently reporting,
+ * with a reading from the last three days, become alerts; the rest are dropped here, before
+ * any geo or database work.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TsunamiFeedAdapter implements FeedAdapter<BprStation> {
+
+    private static final String TSUNAMI_FEED = "https://tsunami.incois.gov.in/itews/homexmls/BprStations.xml";
+
+    private final FeedClient feedClient;
+
+    @Override
+    public String name() {
+        return "tsunami";
+    }
+
+    @Override
+    public String url() {
+        return TSUNAMI_FEED;
+    }
+
+    @Override
+    public Flux<BprStation> fetch() {
+        return Flux.defer(() -> {
+            Instant recentTimeWindow = Instant.now().minus(3, ChronoUnit.DAYS);
+            return BprStationReader.stream(feedClient.stream(name(), url()))
+                    .filter(station -> isRecentlyReporting(station, recentTimeWindow));
+        });
+    }
+
+    private boolean isRecentlyReporting(BprStation station, Instant recentTimeWindow) {
+        if (!"Reporting".equalsIgnoreCase(station.status())) {
+            log.info("Skipping station {} because status is '{}'", station.code(), station.status());
+            return false;
+        }
+        if (station.time() == null || station.time().isBefore(recentTimeWindow)) {
+            log.debug("Skipping old tsunami station {} (date={})", station.code(), station.rawDate());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public List<OceanAlert> toAlerts(BprStation station) {
+        return List.of(OceanAlert.builder()
+                .type("Tsunami")
+                .latitude(station.latitude())
+                .longitude(station.longitude())
+                .color(station.colorClass().isBlank() ? "UNKNOWN" : station.colorClass().toUpperCase())
+                .message("Tide Station " + station.code() + " (" + station.country() + ") - Status: " + station.status())
+                .source("INCOIS")
+                .issueDate(LocalDateTime.ofInstant(station.time(), ZoneId.systemDefault()))
+                .details(Map.of(
+                        "station_code", station.code(),
+                        "station_real_name", station.realName(),
+                        "country", station.country(),
+                        "owner", station.owner(),
+                        "status", station.status(),
+                        "raw_date", station.rawDate()
+                ))
+                .build());
+    }
+}
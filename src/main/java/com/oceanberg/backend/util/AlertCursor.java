@@ -0,0 +1,44 @@
+package com.oceanberg.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an alert listing ordered newest first: the issue date and id of the last alert
+ * returned. Travels as an opaque URL-safe token; clients only hand it back.
+ *
+ * @param issueDate issue date of the last alert, null for alerts without one (listed last)
+ * @param id        id of the last alert, the tie-break among equal issue dates
+ */
+public record AlertCursor(LocalDateTime issueDate, String id) {
+
+    private static final String VERSION = "1";
+
+    public AlertCursor {
+        if (id == null || id.isEmpty()) throw new IllegalArgumentException("Cursor needs an alert id");
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + (issueDate == null ? "" : issueDate.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token made by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token wasn't made by this class
+     */
+    public static AlertCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) throw new IllegalArgumentException("Unknown cursor format");
+            LocalDateTime issueDate = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new AlertCursor(issueDate, parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
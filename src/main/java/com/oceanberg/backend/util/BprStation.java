@@ -0,0 +1,11 @@
+package com.oceanberg.backend.util;
+
+import java.time.Instant;
+
+/**
+ * One {@code <station>} of the INCOIS tsunami BPR (bottom pressure recorder) station list.
+ * {@code time} is the parsed {@code date}, or null if it couldn't be parsed.
+ */
+public record BprStation(String status, String code, String realName, String country, String owner,
+                         String colorClass, String rawDate, Instant time, double latitude, double longitude) {
+}
@@ -0,0 +1,212 @@
+package com.oceanberg.backend.util;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Single-pass StAX reader for {@code BprStations.xml}. Each {@code <station>} is read straight
+ * into a {@link BprStation}; no DOM is built.
+ */
+public final class BprStationReader {
+
+    // Configured once; creating readers from a configured factory is thread-safe
+    private static final XMLInputFactory XML_INPUT_FACTORY = createFactory();
+
+    // Response buffers requested ahead of the parser when streaming
+    private static final int BUFFERS_AHEAD = 4;
+
+    // e.g. "2025-Sep-16 07:00", station local time
+    private static final DateTimeFormatter STATION_DATE = DateTimeFormatter.ofPattern("yyyy-MMM-dd HH:mm", Locale.ENGLISH);
+
+    private BprStationReader() {
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    public static List<BprStation> read(Reader in) throws XMLStreamException {
+        List<BprStation> stations = new ArrayList<>();
+        XMLStreamReader r = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while (r.hasNext()) {
+                if (r.next() == XMLStreamConstants.START_ELEMENT && "station".equals(r.getLocalName())) {
+                    stations.add(readStation(r));
+                }
+            }
+        } finally {
+            r.close();
+        }
+        return stations;
+    }
+
+    /**
+     * Stations of a body arriving as response buffers, each emitted as soon as it is read:
+     * only the buffers the parser hasn't reached yet are held. StAX reads block, so the
+     * stream is read on the bounded-elastic scheduler.
+     */
+    public static Flux<BprStation> stream(Flux<DataBuffer> body) {
+        // An empty body (feed unchanged) has no document to parse
+        return body.switchOnFirst((first, buffers) -> first.hasValue() ? parse(buffers) : buffers.thenMany(Flux.empty()));
+    }
+
+    private static Flux<BprStation> parse(Flux<DataBuffer> body) {
+        return Flux.using(
+                        () -> new BufferInputStream(body),
+                        in -> Flux.<BprStation, XMLStreamReader>generate(
+                                () -> XML_INPUT_FACTORY.createXMLStreamReader(in),
+                                (r, sink) -> {
+                                    try {
+                                        while (r.hasNext()) {
+                                            if (r.next() == XMLStreamConstants.START_ELEMENT && "station".equals(r.getLocalName())) {
+                                                sink.next(readStation(r));
+                                                return r;
+                                            }
+                                        }
+                                        sink.complete();
+                                    } catch (XMLStreamException e) {
+                                        sink.error(e);
+                                    }
+                                    return r;
+                                },
+                                BprStationReader::closeReader),
+                        BprStationReader::closeInput)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void closeReader(XMLStreamReader r) {
+        try {
+            r.close();
+        } catch (XMLStreamException ignored) {
+            // the input is closed next
+        }
+    }
+
+    // Cancels the response body if it wasn't read to the end
+    private static void closeInput(BufferInputStream in) {
+        in.close();
+    }
+
+    // Blocking InputStream over the response buffers that returns whatever the current buffer
+    // holds; DataBufferUtils.subscriberInputStream waits to fill the caller's whole array, which
+    // would hold stations back until the parser's 8 KB read was complete
+    private static final class BufferInputStream extends InputStream {
+
+        private final Stream<DataBuffer> buffers;
+        private final Iterator<DataBuffer> next;
+        private DataBuffer current;
+
+        BufferInputStream(Flux<DataBuffer> body) {
+            this.buffers = body.doOnDiscard(DataBuffer.class, DataBufferUtils::release).toStream(BUFFERS_AHEAD);
+            this.next = buffers.iterator();
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            while (current == null || current.readableByteCount() == 0) {
+                if (current != null) DataBufferUtils.release(current);
+                current = null;
+                if (!next.hasNext()) return -1;
+                current = next.next();
+            }
+            int n = Math.min(len, current.readableByteCount());
+            current.read(b, off, n);
+            return n;
+        }
+
+        @Override
+        public void close() {
+            if (current != null) DataBufferUtils.release(current);
+            current = null;
+            buffers.close();
+        }
+    }
+
+    // Positioned on <station>; returns positioned on its </station>
+    private static BprStation readStation(XMLStreamReader r) throws XMLStreamException {
+        String status = value(r.getAttributeValue(null, "status"));
+        String code = null, realName = null, country = null, owner = null, colorClass = null, date = null;
+        String latitude = null, longitude = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = r.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                // getElementText consumes the field's end tag, so depth is unchanged
+                switch (r.getLocalName()) {
+                    case "statname" -> code = first(code, r);
+                    case "statrealName" -> realName = first(realName, r);
+                    case "country" -> country = first(country, r);
+                    case "owner" -> owner = first(owner, r);
+                    case "colorClass" -> colorClass = first(colorClass, r);
+                    case "date" -> date = first(date, r);
+                    case "latitude" -> latitude = first(latitude, r);
+                    case "longitude" -> longitude = first(longitude, r);
+                    default -> depth++;
+                }
+            }
+        }
+
+        return new BprStation(status, value(code), value(realName), value(country), value(owner),
+                value(colorClass), value(date), parseDate(date), parseDouble(latitude), parseDouble(longitude));
+    }
+
+    // Reads the field's text; the first occurrence in a station wins
+    private static String first(String current, XMLStreamReader r) throws XMLStreamException {
+        String text = r.getElementText().trim();
+        return current != null ? current : text;
+    }
+
+    private static String value(String s) {
+        return s == null ? "" : s;
+    }
+
+    static Instant parseDate(String date) {
+        if (date == null || date.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(date, STATION_DATE).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static double parseDouble(String s) {
+        try {
+            return s == null || s.isBlank() ? 0 : Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.oceanberg.backend.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds every district and state named in free text. All names of the boundary dataset, the
+ * parts of composite names ("THANE, MUMBAI SUBURBAN, MUMBAI CITY"), the shared stem of split
+ * districts ("VALSAD" for VALSAD NORTH/SOUTH) and common alternate spellings are compiled
+ * once into an Aho–Corasick automaton, so a message is matched against all of them in a
+ * single pass over its characters.
+ * <p>
+ * Matching is case-insensitive and on whole words; punctuation counts as a word break. Of
+ * overlapping mentions the longest wins ("NORTH GOA" over "GOA").
+ */
+public final class DistrictGazetteer {
+
+    // Alternate and historical spellings → dataset name; only those whose target exists are used
+    private static final Map<String, String> DISTRICT_ALIASES = Map.ofEntries(
+            Map.entry("KANYAKUMARI", "KANNIYAKUMARI"),
+            Map.entry("TRIVANDRUM", "THIRUVANANTHAPURAM"),
+            Map.entry("COCHIN", "ERNAKULAM"),
+            Map.entry("KOCHI", "ERNAKULAM"),
+            Map.entry("CALICUT", "KOZHIKODE"),
+            Map.entry("QUILON", "KOLLAM"),
+            Map.entry("ALLEPPEY", "ALAPPUZHA"),
+            Map.entry("TRICHUR", "THRISSUR"),
+            Map.entry("CANNANORE", "KANNUR"),
+            Map.entry("KASARGOD", "KASARAGOD, KANNUR"),
+            Map.entry("MANGALORE", "DAKSHINA KANNADA"),
+            Map.entry("MANGALURU", "DAKSHINA KANNADA"),
+            Map.entry("KARWAR", "UTTARA KANNADA"),
+            Map.entry("MUMBAI", "THANE, MUMBAI SUBURBAN, MUMBAI CITY"),
+            Map.entry("BOMBAY", "THANE, MUMBAI SUBURBAN, MUMBAI CITY"),
+            Map.entry("RAIGAD", "RAIGARH"),
+            Map.entry("TUTICORIN", "THOOTHUKKUDI"),
+            Map.entry("TANJORE", "THANJAVUR"),
+            Map.entry("VILLUPURAM", "VILUPPURAM"),
+            Map.entry("KANCHIPURAM", "KANCHEEPURAM"),
+            Map.entry("TIRUVALLUR", "THIRUVALLUR"),
+            Map.entry("PONDICHERRY", "PUDUCHERRY"),
+            Map.entry("VIZAG", "VISAKHAPATNAM"),
+            Map.entry("KAKINADA", "EAST GODAVARI"),
+            Map.entry("MACHILIPATNAM", "KRISHNA"),
+            Map.entry("BALASORE", "BALESHWAR"),
+            Map.entry("KUTCH", "KACHCHH"),
+            Map.entry("KACHH", "KACHCHH"),
+            Map.entry("DWARKA", "DEVBHUMI DWARAKA"),
+            Map.entry("DEVBHOOMI DWARKA", "DEVBHUMI DWARAKA"),
+            Map.entry("MIDNAPORE", "PURBA MEDINIPUR"),
+            Map.entry("EAST MIDNAPORE", "PURBA MEDINIPUR")
+    );
+
+    private static final Map<String, String> STATE_ALIASES = Map.ofEntries(
+            Map.entry("ORISSA", "ODISHA"),
+            Map.entry("TAMILNADU", "TAMIL NADU"),
+            Map.entry("ANDAMAN", "ANDAMAN AND NICOBAR"),
+            Map.entry("ANDAMAN NICOBAR", "ANDAMAN AND NICOBAR"),
+            Map.entry("ANDAMAN AND NICOBAR ISLANDS", "ANDAMAN AND NICOBAR"),
+            Map.entry("LAKSHADWEEP ISLANDS", "LAKSHADWEEP")
+    );
+
+    // Symbols: 0 = word break, 1..26 = A..Z, 27..36 = 0..9
+    private static final int ALPHABET = 37;
+    private static final byte[] SYMBOLS = new byte[128];
+
+    static {
+        for (char ch = 'A'; ch <= 'Z'; ch++) SYMBOLS[ch] = (byte) (ch - 'A' + 1);
+        for (char ch = 'a'; ch <= 'z'; ch++) SYMBOLS[ch] = (byte) (ch - 'a' + 1);
+        for (char ch = '0'; ch <= '9'; ch++) SYMBOLS[ch] = (byte) (ch - '0' + 27);
+    }
+
+    // What a compiled name refers to
+    private static final class Entry {
+        String[][] districts = new String[0][];                  // {district, state}
+        String state;                                             // when the name is a state
+    }
+
+    private final Entry[] entries;
+    private final int[][] next;          // DFA transitions: next[node][symbol]
+    private final int[][] outputs;       // entry ids ending at each node, suffixes included
+    private final int[] entryLength;     // symbols in each entry's pattern, boundaries excluded
+
+    private DistrictGazetteer(Entry[] entries, int[][] next, int[][] outputs, int[] entryLength) {
+        this.entries = entries;
+        this.next = next;
+        this.outputs = outputs;
+        this.entryLength = entryLength;
+    }
+
+    /**
+     * Compiles the gazetteer from {district, state} pairs as found in the boundary dataset.
+     */
+    public static DistrictGazetteer build(Collection<String[]> districtStates) {
+        Map<String, Entry> byName = new LinkedHashMap<>();
+        Map<String, List<String[]>> byDistrict = new LinkedHashMap<>();
+        Map<String, List<String[]>> byStem = new LinkedHashMap<>();
+        Set<String> states = new LinkedHashSet<>();
+
+        for (String[] ds : districtStates) {
+            String district = GeoUtil.normalizeName(ds[0]);
+            String state = GeoUtil.normalizeName(ds[1]);
+            String[] place = {district, state};
+            states.add(state);
+            byDistrict.computeIfAbsent(key(district), k -> new ArrayList<>()).add(place);
+
+            // "VALSAD NORTH" is also what "VALSAD" refers to
+            String stem = district.replaceFirst(" (NORTH|SOUTH|EAST|WEST)$", "");
+            if (!stem.equals(district)) byStem.computeIfAbsent(key(stem), k -> new ArrayList<>()).add(place);
+        }
+
+        // Exact district names first, so they win over composite parts, stems and aliases
+        byDistrict.forEach((name, places) -> addDistricts(byName, name, places));
+        for (String[] ds : districtStates) {
+            String district = GeoUtil.normalizeName(ds[0]);
+            for (String part : district.split("[,&]")) {
+                String partKey = key(part);
+                if (!partKey.isEmpty() && !byName.containsKey(partKey)) {
+                    addDistricts(byName, partKey, byDistrict.get(key(district)));
+                }
+            }
+        }
+        byStem.forEach((stem, places) -> {
+            if (!byName.containsKey(stem)) addDistricts(byName, stem, places);
+        });
+        DISTRICT_ALIASES.forEach((alias, target) -> {
+            List<String[]> places = byDistrict.get(key(target));
+            if (places != null && !byName.containsKey(key(alias))) addDistricts(byName, key(alias), places);
+        });
+
+        for (String state : states) addState(byName, key(state), state);
+        STATE_ALIASES.forEach((alias, target) -> {
+            if (states.contains(target)) addState(byName, key(alias), target);
+        });
+
+        return compile(byName);
+    }
+
+    private static void addDistricts(Map<String, Entry> byName, String name, List<String[]> places) {
+        Entry entry = byName.computeIfAbsent(name, k -> new Entry());
+        int from = entry.districts.length;
+        entry.districts = Arrays.copyOf(entry.districts, from + places.size());
+        for (int i = 0; i < places.size(); i++) entry.districts[from + i] = places.get(i);
+    }
+
+    private static void addState(Map<String, Entry> byName, String name, String state) {
+        Entry entry = byName.computeIfAbsent(name, k -> new Entry());
+        if (entry.state == null) entry.state = state;
+    }
+
+    // Pattern form of a name: upper case, runs of anything but letters and digits as one space
+    private static String key(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        boolean brk = true;
+        for (int i = 0; i < name.length(); i++) {
+            int sym = symbol(name.charAt(i));
+            if (sym == 0) {
+                brk = true;
+            } else {
+                if (brk && !sb.isEmpty()) sb.append(' ');
+                sb.append(Character.toUpperCase(name.charAt(i)));
+                brk = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int symbol(char ch) {
+        return ch < 128 ? SYMBOLS[ch] : 0;
+    }
+
+    // Aho–Corasick over " NAME " (word breaks on both sides), flattened to a full DFA
+    private static DistrictGazetteer compile(Map<String, Entry> byName) {
+        Entry[] entries = byName.values().toArray(new Entry[0]);
+        String[] names = byName.keySet().toArray(new String[0]);
+        int[] entryLength = new int[names.length];
+
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        trie.add(newNode());
+        out.add(new ArrayList<>());
+
+        for (int id = 0; id < names.length; id++) {
+            String pattern = " " + names[id] + " ";
+            entryLength[id] = names[id].length();
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int sym = symbol(pattern.charAt(i));
+                if (trie.get(node)[sym] == 0) {
+                    trie.get(node)[sym] = trie.size();
+                    trie.add(newNode());
+                    out.add(new ArrayList<>());
+                }
+                node = trie.get(node)[sym];
+            }
+            out.get(node).add(id);
+        }
+
+        // Breadth-first: fill missing transitions from the failure state and inherit its outputs
+        int[][] next = trie.toArray(new int[0][]);
+        int[] fail = new int[next.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int sym = 0; sym < ALPHABET; sym++) {
+            if (next[0][sym] != 0) queue.add(next[0][sym]);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            out.get(node).addAll(out.get(fail[node]));
+            for (int sym = 0; sym < ALPHABET; sym++) {
+                int child = next[node][sym];
+                if (child != 0) {
+                    fail[child] = next[fail[node]][sym];
+                    queue.add(child);
+                } else {
+                    next[node][sym] = next[fail[node]][sym];
+                }
+            }
+        }
+
+        int[][] outputs = new int[next.length][];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = out.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new DistrictGazetteer(entries, next, outputs, entryLength);
+    }
+
+    private static int[] newNode() {
+        return new int[ALPHABET];
+    }
+
+    /**
+     * Every {district, state} mentioned in the text, in order of first mention. A state named
+     * without any of its districts yields {"UNKNOWN", state}. A district name shared by
+     * several states is narrowed to those states that are also mentioned. Names are in the
+     * dataset's upper-case form.
+     */
+    public List<String[]> find(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+
+        // Single pass: the text is fed as symbols with runs of breaks collapsed, framed by
+        // breaks. Hits arrive in order of their end; a hit starting before the last kept one
+        // contains it (names are whole words) and replaces it, so the kept ones end up
+        // leftmost-longest and non-overlapping.
+        int[] kept = new int[24];                               // {entry, start, end} triples
+        int keptCount = 0;
+        int node = next[0][0];
+        int pos = 1;
+        boolean brk = true;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            int sym = i < n ? symbol(text.charAt(i)) : 0;
+            if (sym == 0) {
+                if (brk) continue;
+                brk = true;
+            } else {
+                brk = false;
+            }
+            node = next[node][sym];
+            pos++;
+            for (int id : outputs[node]) {
+                // The match ends on the break after the name
+                int end = pos - 1;
+                int start = end - entryLength[id];
+                while (keptCount > 0 && kept[3 * keptCount - 2] >= start) keptCount--;
+                if (keptCount > 0 && kept[3 * keptCount - 1] > start) continue;
+                if (3 * keptCount + 3 > kept.length) kept = Arrays.copyOf(kept, kept.length * 2);
+                kept[3 * keptCount] = id;
+                kept[3 * keptCount + 1] = start;
+                kept[3 * keptCount + 2] = end;
+                keptCount++;
+            }
+        }
+        if (keptCount == 0) return List.of();
+
+        Entry[] mentioned = new Entry[keptCount];
+        for (int k = 0; k < keptCount; k++) mentioned[k] = entries[kept[3 * k]];
+        return resolve(mentioned);
+    }
+
+    private static List<String[]> resolve(Entry[] mentioned) {
+        List<String> states = new ArrayList<>(2);
+        for (Entry e : mentioned) {
+            if (e.state != null && !states.contains(e.state)) states.add(e.state);
+        }
+
+        List<String[]> places = new ArrayList<>(mentioned.length);
+        for (Entry e : mentioned) {
+            if (e.districts.length == 0) continue;
+            boolean narrowed = false;
+            for (String[] place : e.districts) {
+                if (states.contains(place[1])) {
+                    addPlace(places, place);
+                    narrowed = true;
+                }
+            }
+            if (!narrowed) {
+                for (String[] place : e.districts) addPlace(places, place);
+            }
+        }
+        // Only names that are purely a state; "PUDUCHERRY" is a district too and placed above
+        for (Entry e : mentioned) {
+            if (e.state != null && e.districts.length == 0 && !hasState(places, e.state)) {
+                places.add(new String[]{"UNKNOWN", e.state});
+            }
+        }
+        return places;
+    }
+
+    private static void addPlace(List<String[]> places, String[] place) {
+        for (String[] p : places) {
+            if (p[0].equals(place[0]) && p[1].equals(place[1])) return;
+        }
+        places.add(new String[]{place[0], place[1]});
+    }
+
+    private static boolean hasState(List<String[]> places, String state) {
+        for (String[] p : places) {
+            if (p[1].equals(state)) return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+}
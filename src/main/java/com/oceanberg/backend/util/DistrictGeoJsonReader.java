@@ -0,0 +1,212 @@
+package com.oceanberg.backend.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.locationtech.jts.geom.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for district boundary FeatureCollections. Walks Jackson's token stream
+ * once and builds JTS geometries straight from the numeric tokens, so no JSON tree or
+ * intermediate geometry strings are held while loading; peak heap is the geometries plus
+ * one feature's worth of coordinate buffer.
+ */
+final class DistrictGeoJsonReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 🔍 Auto-detect district/state field names
+    private static final String[] DISTRICT_KEYS = {"district", "District", "DISTRICT", "dtname", "DIST_NAME"};
+    private static final String[] STATE_KEYS = {"state", "STATE", "stname", "STATE_NAME"};
+
+    private final GeometryFactory geometryFactory;
+
+    // Marker returned for a single position; its x/y has gone into the ordinate buffer
+    private static final Object POSITION = new Object();
+
+    // Reused across rings: x/y pairs of the ring being read
+    private double[] ordinates = new double[1024];
+    private int ordinateCount;
+
+    DistrictGeoJsonReader(GeometryFactory geometryFactory) {
+        this.geometryFactory = geometryFactory;
+    }
+
+    List<DistrictShape> read(InputStream in) throws IOException {
+        List<DistrictShape> shapes = new ArrayList<>();
+        try (JsonParser p = JSON_FACTORY.createParser(in)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT, p);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("features".equals(field)) {
+                    expect(p.currentToken(), JsonToken.START_ARRAY, p);
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        DistrictShape shape = readFeature(p);
+                        if (shape != null) shapes.add(shape);
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return shapes;
+    }
+
+    private DistrictShape readFeature(JsonParser p) throws IOException {
+        Map<String, String> props = new HashMap<>();
+        Geometry geometry = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = p.currentName();
+                    JsonToken v = p.nextToken();
+                    if (v.isScalarValue()) props.put(key, p.getValueAsString());
+                    else p.skipChildren();
+                }
+            } else if ("geometry".equals(field) && value == JsonToken.START_OBJECT) {
+                geometry = readGeometry(p);
+            } else {
+                p.skipChildren();
+            }
+        }
+
+        // Nothing left to match a point against once unusable rings are dropped
+        if (geometry == null || geometry.isEmpty()) return null;
+        return new DistrictShape(property(props, DISTRICT_KEYS), property(props, STATE_KEYS), geometry);
+    }
+
+    // "type" and "coordinates" may come in either order, so coordinates are read generically first
+    private Geometry readGeometry(JsonParser p) throws IOException {
+        String type = null;
+        Object coordinates = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("type".equals(field)) {
+                type = p.getText();
+            } else if ("coordinates".equals(field) && value == JsonToken.START_ARRAY) {
+                coordinates = readArray(p);
+            } else {
+                p.skipChildren();
+            }
+        }
+        if (type == null || coordinates == null) return null;
+
+        switch (type) {
+            case "Polygon":
+                return toPolygon(coordinates, p);
+            case "MultiPolygon":
+                List<?> parts = nested(coordinates, "MultiPolygon", p);
+                List<Polygon> polygons = new ArrayList<>(parts.size());
+                for (Object part : parts) {
+                    Polygon polygon = toPolygon(part, p);
+                    if (!polygon.isEmpty()) polygons.add(polygon);
+                }
+                return geometryFactory.createMultiPolygon(polygons.toArray(new Polygon[0]));
+            default:
+                throw new IOException("Unsupported district geometry type: " + type);
+        }
+    }
+
+    /**
+     * Reads one coordinates array (START_ARRAY already consumed). An array of positions comes
+     * back as a LinearRing built from the shared ordinate buffer; higher levels come back as
+     * lists of their children; a position itself returns POSITION after appending to the buffer.
+     */
+    private Object readArray(JsonParser p) throws IOException {
+        JsonToken t = p.nextToken();
+        if (t == JsonToken.END_ARRAY) return List.of();
+
+        if (t.isNumeric()) {
+            double x = p.getDoubleValue();
+            p.nextToken();
+            double y = p.getDoubleValue();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                // ignore altitude
+            }
+            appendOrdinates(x, y);
+            return POSITION;
+        }
+
+        List<Object> children = new ArrayList<>();
+        boolean ring = false;
+        do {
+            Object child = readArray(p);
+            if (child == POSITION) ring = true;
+            else children.add(child);
+        } while (p.nextToken() == JsonToken.START_ARRAY);
+
+        return ring ? takeRing() : children;
+    }
+
+    // Empty and degenerate rings are dropped; a polygon left without its shell is empty
+    private Polygon toPolygon(Object rings, JsonParser p) throws IOException {
+        List<?> list = nested(rings, "Polygon", p);
+        if (list.isEmpty() || !isUsable(list.get(0))) return geometryFactory.createPolygon();
+        List<LinearRing> holes = new ArrayList<>();
+        for (int i = 1; i < list.size(); i++) {
+            if (isUsable(list.get(i))) holes.add((LinearRing) list.get(i));
+        }
+        return geometryFactory.createPolygon((LinearRing) list.get(0), holes.toArray(new LinearRing[0]));
+    }
+
+    private static boolean isUsable(Object ring) {
+        return ring instanceof LinearRing r && !r.isEmpty();
+    }
+
+    // Coordinates one level above rings (or polygons), not a bare ring or position
+    private static List<?> nested(Object coordinates, String type, JsonParser p) throws IOException {
+        if (coordinates instanceof List<?> list) return list;
+        throw new IOException(type + " coordinates are not nested deeply enough, before " + p.currentLocation());
+    }
+
+    private void appendOrdinates(double x, double y) {
+        if (ordinateCount + 2 > ordinates.length) {
+            ordinates = Arrays.copyOf(ordinates, ordinates.length * 2);
+        }
+        ordinates[ordinateCount++] = x;
+        ordinates[ordinateCount++] = y;
+    }
+
+    // An unclosed ring is closed; one with fewer than three distinct corners comes back empty
+    private LinearRing takeRing() {
+        int points = ordinateCount / 2;
+        boolean closed = points > 0 && ordinates[0] == ordinates[ordinateCount - 2] && ordinates[1] == ordinates[ordinateCount - 1];
+        Coordinate[] coords = new Coordinate[closed ? points : points + 1];
+        for (int i = 0; i < points; i++) {
+            coords[i] = new Coordinate(ordinates[2 * i], ordinates[2 * i + 1]);
+        }
+        if (!closed && points > 0) coords[points] = coords[0].copy();
+        ordinateCount = 0;
+        return coords.length < 4 ? geometryFactory.createLinearRing() : geometryFactory.createLinearRing(coords);
+    }
+
+    private static String property(Map<String, String> props, String... keys) {
+        for (String key : keys) {
+            String value = props.get(key);
+            if (value != null) return value;
+        }
+        // fallback: print available keys for debugging
+        System.err.println("⚠️ Unknown properties, available keys: " + String.join(" ", props.keySet()));
+        return "Unknown";
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser p) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + p.currentLocation());
+        }
+    }
+}
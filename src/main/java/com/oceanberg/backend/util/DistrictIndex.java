@@ -0,0 +1,304 @@
+package com.oceanberg.backend.util;
+
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.*;
+import org.locationtech.jts.index.strtree.ItemBoundable;
+import org.locationtech.jts.index.strtree.ItemDistance;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.distance.FacetSequence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, fully built lookup structure over the district boundaries. Everything lazy in
+ * JTS (tree packing, point-in-area indexes) is forced in the constructor, so once an instance
+ * is published through a final or volatile field, lookups take no locks.
+ */
+public final class DistrictIndex {
+
+    // Points farther than this from every district are offshore: 500 km ≈ 4.5° (roughly)
+    private static final double OFFSHORE_CUTOFF_DEGREES = 4.5;
+    private static final String[] OFFSHORE = {"Offshore", "Offshore"};
+    private static final double[] NO_CENTROID = {0.0, 0.0};
+
+    // Boundary segments per facet sequence, as in JTS's FacetSequenceTreeBuilder
+    private static final int FACET_SEQUENCE_SIZE = 6;
+
+    // Exact point-to-polygon distance, so the tree can prune on envelopes and confirm on geometry.
+    // Only used for points outside every polygon, where the distance to the boundary is the distance.
+    private static final ItemDistance REGION_DISTANCE = (ItemBoundable a, ItemBoundable b) -> {
+        Region ra = (Region) a.getItem();
+        Region rb = (Region) b.getItem();
+        return ra.probe == null ? ra.boundaryDistance(rb.probe) : rb.boundaryDistance(ra.probe);
+    };
+
+    private static final ItemDistance FACET_DISTANCE = (ItemBoundable a, ItemBoundable b) ->
+            ((FacetSequence) a.getItem()).distance((FacetSequence) b.getItem());
+
+    private final GeometryFactory geometryFactory;
+    private final List<Region> regions;
+    private final FrozenSTRtree regionTree;
+    // Normalized STATE -> normalized DISTRICT -> {lat, lon}; centroids computed once at load
+    private final Map<String, Map<String, double[]>> districtCentroids;
+    private final Map<String, double[]> stateCentroids;
+
+    DistrictIndex(List<DistrictShape> shapes, GeometryFactory geometryFactory) {
+        this.geometryFactory = geometryFactory;
+
+        List<Region> built = new ArrayList<>(shapes.size());
+        FrozenSTRtree tree = new FrozenSTRtree();
+        for (DistrictShape shape : shapes) {
+            Region region = new Region(built.size(), shape.district(), shape.state(), shape.geometry());
+            built.add(region);
+            tree.insert(shape.geometry().getEnvelopeInternal(), region);
+        }
+        tree.freeze();
+        this.regions = Collections.unmodifiableList(built);
+        this.regionTree = tree;
+
+        Map<String, Map<String, double[]>> districts = new HashMap<>();
+        Map<String, double[]> states = new HashMap<>();
+        buildCentroidLookups(districts, states);
+        this.districtCentroids = districts;
+        this.stateCentroids = states;
+    }
+
+    static DistrictIndex empty() {
+        return new DistrictIndex(List.of(), new GeometryFactory());
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    /**
+     * {district, state} of every region, as named in the dataset.
+     */
+    public List<String[]> districts() {
+        List<String[]> names = new ArrayList<>(regions.size());
+        for (Region r : regions) names.add(new String[]{r.district, r.state});
+        return names;
+    }
+
+    private void buildCentroidLookups(Map<String, Map<String, double[]>> districts, Map<String, double[]> states) {
+        // Per state: area-weighted sums of district centroids, i.e. the centroid of all its districts together
+        Map<String, double[]> stateSums = new LinkedHashMap<>();
+        for (Region r : regions) {
+            String normState = GeoUtil.normalizeName(r.state);
+            Coordinate c = r.geometry.getCentroid().getCoordinate();
+            districts.computeIfAbsent(normState, k -> new HashMap<>())
+                    .putIfAbsent(GeoUtil.normalizeName(r.district), new double[]{c.y, c.x});
+
+            double area = r.geometry.getArea();
+            double[] sum = stateSums.computeIfAbsent(normState, k -> new double[3]);
+            sum[0] += c.y * area;
+            sum[1] += c.x * area;
+            sum[2] += area;
+        }
+        stateSums.forEach((normState, sum) -> {
+            if (sum[2] > 0) states.put(normState, new double[]{sum[0] / sum[2], sum[1] / sum[2]});
+        });
+    }
+
+    /**
+     * {district, state} containing the point, else of the nearest district within the offshore
+     * cutoff, else {"Offshore", "Offshore"}.
+     */
+    public String[] resolve(double lat, double lon) {
+        Coordinate coord = new Coordinate(lon, lat);
+        Envelope pointEnv = new Envelope(coord);
+
+        // 1. Containment: bbox prefilter via the tree, then the region's point-in-area index
+        @SuppressWarnings("unchecked")
+        List<Region> candidates = regionTree.query(pointEnv);
+        for (Region r : candidates) {
+            if (r.locator.locate(coord) == Location.INTERIOR) {
+                return new String[]{r.district, r.state};
+            }
+        }
+
+        // 2. Not inside any district: nearest district, pruned by envelope distance inside the tree
+        Envelope searchEnv = new Envelope(coord);
+        searchEnv.expandBy(OFFSHORE_CUTOFF_DEGREES);
+        if (regionTree.query(searchEnv).isEmpty()) {
+            return OFFSHORE.clone();
+        }
+
+        Region probe = Region.probe(geometryFactory, coord);
+        Region nearest = (Region) regionTree.nearestNeighbour(pointEnv, probe, REGION_DISTANCE);
+        double bestDistance = nearest.boundaryDistance(probe.probe);
+        if (bestDistance > OFFSHORE_CUTOFF_DEGREES) {
+            return OFFSHORE.clone();
+        }
+
+        // Districts share borders, so ties are common; keep the linear scan's "first in file" winner
+        Region bestRegion = nearest;
+        Envelope tieEnv = new Envelope(coord);
+        tieEnv.expandBy(bestDistance);
+        @SuppressWarnings("unchecked")
+        List<Region> tied = regionTree.query(tieEnv);
+        for (Region r : tied) {
+            if (r.order < bestRegion.order && r.boundaryDistance(probe.probe) <= bestDistance) {
+                bestRegion = r;
+            }
+        }
+        return new String[]{bestRegion.district, bestRegion.state};
+    }
+
+    /**
+     * The answer {@link #resolve} gives for every point of the grid cell
+     * [minLat, minLat + size) x [minLon, minLon + size), or null if the answer varies inside the
+     * cell (a district border, the coastline, the offshore cutoff or the "nearest district"
+     * boundary runs through it). Costs a few exact geometry tests, so meant for cache fills.
+     */
+    public String[] resolveCell(double minLat, double minLon, double size) {
+        Envelope cellEnv = new Envelope(minLon, minLon + size, minLat, minLat + size);
+        Geometry cell = geometryFactory.toGeometry(cellEnv);
+
+        @SuppressWarnings("unchecked")
+        List<Region> candidates = regionTree.query(cellEnv);
+        Region touching = null;
+        for (Region r : candidates) {
+            if (!r.geometry.intersects(cell)) continue;
+            if (touching != null) return null;      // two districts meet inside the cell
+            touching = r;
+        }
+        if (touching != null) {
+            // Wholly inside one district, or straddling its edge
+            return touching.geometry.contains(cell) ? new String[]{touching.district, touching.state} : null;
+        }
+
+        // Outside every district: the answer is the nearest one (or Offshore). Distance to the
+        // nearest district changes by at most the half-diagonal across the cell.
+        Coordinate centre = cellEnv.centre();
+        double halfDiagonal = size * Math.sqrt(2) / 2;
+        Envelope searchEnv = new Envelope(centre);
+        searchEnv.expandBy(OFFSHORE_CUTOFF_DEGREES + halfDiagonal);
+        if (regionTree.query(searchEnv).isEmpty()) {
+            return OFFSHORE.clone();
+        }
+
+        Region probe = Region.probe(geometryFactory, centre);
+        Region nearest = (Region) regionTree.nearestNeighbour(new Envelope(centre), probe, REGION_DISTANCE);
+        double centreDistance = nearest.boundaryDistance(probe.probe);
+        if (centreDistance - halfDiagonal > OFFSHORE_CUTOFF_DEGREES) {
+            return OFFSHORE.clone();
+        }
+        if (centreDistance + halfDiagonal > OFFSHORE_CUTOFF_DEGREES) {
+            return null;                             // the offshore cutoff crosses the cell
+        }
+
+        // Nearest everywhere in the cell only if every other district stays strictly farther
+        double reach = centreDistance + halfDiagonal;
+        Envelope reachEnv = new Envelope(cellEnv);
+        reachEnv.expandBy(reach);
+        @SuppressWarnings("unchecked")
+        List<Region> rivals = regionTree.query(reachEnv);
+        for (Region r : rivals) {
+            if (r != nearest && r.geometry.distance(cell) <= reach) return null;
+        }
+        return new String[]{nearest.district, nearest.state};
+    }
+
+    /**
+     * Centroid {lat, lon} of the district, falling back to the state's centroid and then to
+     * {0, 0}. The returned array is shared and must not be modified.
+     */
+    public double[] centroid(String district, String state) {
+        String normState = GeoUtil.normalizeName(state);
+        Map<String, double[]> districts = districtCentroids.get(normState);
+        if (districts != null) {
+            double[] centroid = districts.get(GeoUtil.normalizeName(district));
+            if (centroid != null) return centroid;
+        }
+
+        // ✅ fallback: try only by state centroid
+        return stateCentroids.getOrDefault(normState, NO_CENTROID);
+    }
+
+    /**
+     * STRtree whose build() takes a monitor on every query; once frozen the tree is read-only,
+     * so the check is skipped.
+     */
+    private static final class FrozenSTRtree extends STRtree {
+        private boolean frozen;
+
+        void freeze() {
+            super.build();
+            frozen = true;
+        }
+
+        @Override
+        public void build() {
+            if (!frozen) super.build();
+        }
+    }
+
+    private static final class Region {
+        final int order;
+        final String district;
+        final String state;
+        final Geometry geometry;
+        final PointOnGeometryLocator locator;
+        // Set only on nearest-neighbour query items, which carry no indexes of their own
+        final FacetSequence probe;
+        // Only needed for points outside every district, so built on first use
+        private volatile FrozenSTRtree facets;
+
+        Region(int order, String district, String state, Geometry geometry) {
+            this.order = order;
+            this.district = district;
+            this.state = state;
+            this.geometry = geometry;
+            IndexedPointInAreaLocator pia = new IndexedPointInAreaLocator(geometry);
+            // The locator builds its interval index on first use; do that now, before publication
+            pia.locate(geometry.getEnvelopeInternal().centre());
+            this.locator = pia;
+            this.probe = null;
+        }
+
+        private Region(Point point) {
+            this.order = -1;
+            this.district = null;
+            this.state = null;
+            this.geometry = point;
+            this.locator = null;
+            this.probe = new FacetSequence(point.getCoordinateSequence(), 0);
+        }
+
+        static Region probe(GeometryFactory factory, Coordinate coord) {
+            return new Region(factory.createPoint(coord));
+        }
+
+        double boundaryDistance(FacetSequence point) {
+            FrozenSTRtree tree = facets;
+            if (tree == null) {
+                // Racing threads may each build one; any of them is equivalent
+                tree = buildFacetTree(geometry);
+                facets = tree;
+            }
+            FacetSequence nearest = (FacetSequence) tree.nearestNeighbour(point.getEnvelope(), point, FACET_DISTANCE);
+            return nearest.distance(point);
+        }
+
+        private static FrozenSTRtree buildFacetTree(Geometry geometry) {
+            FrozenSTRtree tree = new FrozenSTRtree();
+            geometry.apply((GeometryComponentFilter) component -> {
+                if (!(component instanceof LineString)) return;
+                CoordinateSequence seq = ((LineString) component).getCoordinateSequence();
+                for (int i = 0; i < seq.size() - 1; i += FACET_SEQUENCE_SIZE) {
+                    FacetSequence facet = new FacetSequence(seq, i, Math.min(i + FACET_SEQUENCE_SIZE + 1, seq.size()));
+                    tree.insert(facet.getEnvelope(), facet);
+                }
+            });
+            tree.freeze();
+            return tree;
+        }
+    }
+}
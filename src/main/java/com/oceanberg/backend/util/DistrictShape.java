@@ -0,0 +1,9 @@
+package com.oceanberg.backend.util;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * One district boundary as read from a boundary source (GeoJSON or binary snapshot).
+ */
+public record DistrictShape(String district, String state, Geometry geometry) {
+}
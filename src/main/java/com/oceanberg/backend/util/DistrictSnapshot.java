@@ -0,0 +1,128 @@
+package com.oceanberg.backend.util;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.InStream;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.BufferedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary copy of the district boundaries: a header identifying the source it was
+ * built from, then per district its names and the geometry as WKB. Read back through a
+ * memory-mapped file, so a warm start skips JSON parsing altogether.
+ *
+ * <pre>
+ * int magic, int version, long sourceLength, long sourceModified, int count,
+ * count x { utf district, utf state, int wkbLength, byte[wkbLength] wkb }
+ * </pre>
+ */
+final class DistrictSnapshot {
+
+    private static final int MAGIC = 0x4F424453; // "OBDS"
+    private static final int VERSION = 1;
+
+    private DistrictSnapshot() {
+    }
+
+    /**
+     * Reads the snapshot, or returns null if it is missing, unreadable or was built from a
+     * different source.
+     */
+    static List<DistrictShape> read(Path file, long sourceLength, long sourceModified, GeometryFactory factory) {
+        if (!Files.isReadable(file)) return null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION
+                    || buf.getLong() != sourceLength || buf.getLong() != sourceModified) {
+                return null;
+            }
+
+            int count = buf.getInt();
+            List<DistrictShape> shapes = new ArrayList<>(count);
+            WKBReader wkbReader = new WKBReader(factory);
+            for (int i = 0; i < count; i++) {
+                String district = readUtf(buf);
+                String state = readUtf(buf);
+                int wkbLength = buf.getInt();
+                ByteBuffer wkb = buf.slice(buf.position(), wkbLength);
+                buf.position(buf.position() + wkbLength);
+                shapes.add(new DistrictShape(district, state, wkbReader.read(new ByteBufferInStream(wkb))));
+            }
+            return shapes;
+        } catch (IOException | ParseException | RuntimeException e) {
+            System.err.println("⚠️ Ignoring unreadable district snapshot " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot next to its final location and moves it into place, so concurrent
+     * readers never see a partial file.
+     */
+    static void write(Path file, List<DistrictShape> shapes, long sourceLength, long sourceModified) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+        WKBWriter wkbWriter = new WKBWriter();
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp));
+             DataOutputStream out = new DataOutputStream(os)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sourceLength);
+            out.writeLong(sourceModified);
+            out.writeInt(shapes.size());
+            for (DistrictShape shape : shapes) {
+                out.writeUTF(shape.district());
+                out.writeUTF(shape.state());
+                byte[] wkb = wkbWriter.write(shape.geometry());
+                out.writeInt(wkb.length);
+                out.write(wkb);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Matches DataOutputStream.writeUTF for the names we store (no NULs or supplementary chars)
+    private static String readUtf(ByteBuffer buf) {
+        int length = buf.getShort() & 0xFFFF;
+        String value = StandardCharsets.UTF_8.decode(buf.slice(buf.position(), length)).toString();
+        buf.position(buf.position() + length);
+        return value;
+    }
+
+    // Lets WKBReader consume the mapped region directly instead of copying it into a byte[]
+    private static final class ByteBufferInStream implements InStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read(byte[] dst) {
+            int n = Math.min(dst.length, buf.remaining());
+            buf.get(dst, 0, n);
+            return n;
+        }
+    }
+}
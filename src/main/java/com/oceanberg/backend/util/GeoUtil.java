@@ -1,140 +1,144 @@
 package com.oceanberg.backend.util;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.locationtech.jts.geom.*;
-import org.wololo.jts2geojson.GeoJSONReader;
+import org.locationtech.jts.geom.GeometryFactory;
 
+import java.io.BufferedInputStream;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 public class GeoUtil {
 
-    private static final List<Region> regions = new ArrayList<>();
-    private static final GeometryFactory geometryFactory = new GeometryFactory();
-    private static boolean loaded = false;
-
-    private static synchronized void loadDistrictPolygons() throws Exception {
-        if (loaded) return;
-
-        InputStream is = GeoUtil.class.getResourceAsStream("/INDIA_DISTRICTS.geojson");
-        if (is == null) {
-            throw new RuntimeException("GeoJSON file not found in resources: INDIA_DISTRICTS.geojson");
-        }
-        String geoJsonText = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(geoJsonText);
-        JsonNode features = root.path("features");
-        GeoJSONReader reader = new GeoJSONReader();
+    // First resource found wins; the bundled INCOIS file is gzip-compressed
+    private static final String[] DISTRICT_RESOURCES = {"/INDIA_DISTRICTS.geojson", "/districtpolygons.geojson"};
 
-        for (JsonNode feature : features) {
-            JsonNode props = feature.path("properties");
+    // Binary copy of the parsed boundaries, rebuilt whenever the GeoJSON resource changes
+    private static final String SNAPSHOT_PROPERTY = "oceanberg.geo.snapshot";
+    private static final String DEFAULT_SNAPSHOT =
+            Path.of(System.getProperty("java.io.tmpdir"), "oceanberg", "districtpolygons.snapshot").toString();
 
-            // 🔍 Auto-detect district/state field names
-            String district = extractProperty(props, "district", "DISTRICT", "dtname", "DIST_NAME");
-            String state = extractProperty(props, "state", "STATE", "stname", "STATE_NAME");
-
-            JsonNode geomNode = feature.path("geometry");
-            Geometry geom = reader.read(geomNode.toString());
-
-            regions.add(new Region(district, state, geom));
-        }
-
-        loaded = true;
-        System.out.println("✅ Loaded " + regions.size() + " district polygons.");
-    }
+    private static final GeometryFactory geometryFactory = new GeometryFactory();
 
-    private static String extractProperty(JsonNode props, String... keys) {
-        for (String key : keys) {
-            if (props.has(key)) {
-                return props.get(key).asText();
+    // Initialization-on-demand holder: the JVM runs the load once, and every later read of
+    // INDEX is a plain field read with no monitor
+    private static class Holder {
+        static final Throwable LOAD_FAILURE;
+        static final DistrictIndex INDEX;
+
+        static {
+            DistrictIndex index;
+            Throwable failure = null;
+            try {
+                index = loadIndex();
+            } catch (Exception e) {
+                e.printStackTrace();
+                failure = e;
+                index = DistrictIndex.empty();
             }
+            INDEX = index;
+            LOAD_FAILURE = failure;
         }
-        // fallback: print available keys for debugging
-        Iterator<String> fieldNames = props.fieldNames();
-        System.err.print("⚠️ Unknown properties, available keys: ");
-        while (fieldNames.hasNext()) {
-            System.err.print(fieldNames.next() + " ");
-        }
-        System.err.println();
-        return "Unknown";
     }
 
-    public static String[] resolveDistrictState(double lat, double lon) {
-        try {
-            loadDistrictPolygons();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        Point pt = geometryFactory.createPoint(new Coordinate(lon, lat));
-
-        Region bestRegion = null;
-        double bestDistance = Double.MAX_VALUE;
-
-        for (Region r : regions) {
-            double distance = r.geometry.distance(pt);
-            if (distance < bestDistance) {
-                bestDistance = distance;
-                bestRegion = r;
-            }
-        }
+    /**
+     * The shared district index, loading it on first call. A failed load yields an empty
+     * index, which resolves everything as Offshore; see {@link #loadFailure()}.
+     */
+    public static DistrictIndex index() {
+        return Holder.INDEX;
+    }
 
-        // Apply cutoff: 500 km ≈ 4.5° (roughly)
-        if (bestRegion != null) {
-            if (bestDistance > 4.5) {
-                return new String[]{"Offshore", "Offshore"};
-            }
-            return new String[]{bestRegion.district, bestRegion.state};
-        }
+    /**
+     * Why the district boundaries could not be loaded, or null if they were.
+     */
+    public static Throwable loadFailure() {
+        return Holder.LOAD_FAILURE;
+    }
 
-        return new String[]{"Offshore", "Offshore"};
+    static DistrictIndex loadIndex() throws Exception {
+        long startNanos = System.nanoTime();
+        DistrictIndex index = new DistrictIndex(loadDistrictShapes(), geometryFactory);
+        System.out.println("✅ Indexed " + index.size() + " district polygons in "
+                + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+        return index;
     }
 
-    public static double[] getCentroidForDistrict(String district, String state) {
+    /**
+     * Reads the district boundaries from the binary snapshot when it matches the bundled
+     * GeoJSON, otherwise from the GeoJSON itself (refreshing the snapshot).
+     */
+    public static List<DistrictShape> loadDistrictShapes() throws Exception {
+        URL resource = findDistrictResource();
+        URLConnection conn = resource.openConnection();
+        long sourceLength = conn.getContentLengthLong();
+        long sourceModified = conn.getLastModified();
+
+        Path snapshotFile = Path.of(System.getProperty(SNAPSHOT_PROPERTY, DEFAULT_SNAPSHOT));
+        List<DistrictShape> shapes = DistrictSnapshot.read(snapshotFile, sourceLength, sourceModified, geometryFactory);
+        if (shapes != null) return shapes;
+
+        shapes = parseGeoJson(conn.getInputStream());
         try {
-            loadDistrictPolygons();
+            DistrictSnapshot.write(snapshotFile, shapes, sourceLength, sourceModified);
         } catch (Exception e) {
-            e.printStackTrace();
+            System.err.println("⚠️ Could not write district snapshot " + snapshotFile + ": " + e);
         }
+        return shapes;
+    }
 
-        // Normalize inputs
-        String normDistrict = district.trim().replaceAll("\\s+", " ").toUpperCase();
-        String normState = state.trim().replaceAll("\\s+", " ").toUpperCase();
-
-        for (Region r : regions) {
-            if (r.district.trim().replaceAll("\\s+", " ").toUpperCase().equals(normDistrict)
-                    && r.state.trim().replaceAll("\\s+", " ").toUpperCase().equals(normState)) {
-                Coordinate c = r.geometry.getCentroid().getCoordinate();
-                return new double[]{c.y, c.x};
-            }
+    static List<DistrictShape> parseGeoJson(InputStream source) throws Exception {
+        try (InputStream is = decompressIfNeeded(source)) {
+            return new DistrictGeoJsonReader(geometryFactory).read(is);
         }
+    }
 
-        // ✅ fallback: try only by state centroid
-        for (Region r : regions) {
-            if (r.state.trim().replaceAll("\\s+", " ").toUpperCase().equals(normState)) {
-                Coordinate c = r.geometry.getCentroid().getCoordinate();
-                return new double[]{c.y, c.x};
+    /**
+     * Trim, collapse whitespace runs to one space and upper-case. Names that are already in
+     * that form (the common case: feeds and the dataset use upper case) are returned as-is.
+     */
+    public static String normalizeName(String name) {
+        boolean prevSpace = true;
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            boolean space = Character.isWhitespace(ch);
+            if ((space && (prevSpace || ch != ' ')) || Character.isLowerCase(ch)) {
+                return name.trim().replaceAll("\\s+", " ").toUpperCase();
             }
+            prevSpace = space;
         }
+        return prevSpace && !name.isEmpty() ? name.trim() : name;
+    }
 
-        return new double[]{0.0, 0.0};
+    static URL findDistrictResource() {
+        for (String name : DISTRICT_RESOURCES) {
+            URL url = GeoUtil.class.getResource(name);
+            if (url != null) return url;
+        }
+        throw new RuntimeException("GeoJSON file not found in resources: " + String.join(", ", DISTRICT_RESOURCES));
     }
 
+    static InputStream decompressIfNeeded(InputStream is) throws Exception {
+        BufferedInputStream in = new BufferedInputStream(is);
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+        boolean gzip = b1 == 0x1f && b2 == 0x8b;
+        return gzip ? new GZIPInputStream(in) : in;
+    }
 
-    private static class Region {
-        String district;
-        String state;
-        Geometry geometry;
+    public static String[] resolveDistrictState(double lat, double lon) {
+        return index().resolve(lat, lon);
+    }
 
-        public Region(String district, String state, Geometry geometry) {
-            this.district = district;
-            this.state = state;
-            this.geometry = geometry;
-        }
+    /**
+     * Centroid {lat, lon} of the district, falling back to the state's centroid and then to
+     * {0, 0}. The returned array is shared and must not be modified.
+     */
+    public static double[] getCentroidForDistrict(String district, String state) {
+        return index().centroid(district, state);
     }
 }
@@ -0,0 +1,154 @@
+package com.oceanberg.backend.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emits the elements of one array field of a JSON object body as they arrive, using Jackson's
+ * non-blocking parser over the raw response buffers. Only the element being read is held, so
+ * memory stays flat however long the array is.
+ * <p>
+ * Some INCOIS feeds wrap the array in a string ({@code {"HWAJson": "[...]"}}); that string
+ * has to be read whole, but its elements are then streamed from it rather than re-parsed
+ * into one tree.
+ */
+public final class JsonArrayStreamer {
+
+    private final ObjectMapper mapper;
+    private final String field;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    // Open structures outside the target array (1 inside the root object)
+    private int depth;
+    private boolean awaitingValue;
+    private boolean inArray;
+    private boolean done;
+
+    // Element being collected, and its own nesting depth
+    private TokenBuffer element;
+    private int elementDepth;
+
+    private JsonArrayStreamer(ObjectMapper mapper, String field) throws IOException {
+        this.mapper = mapper;
+        this.field = field;
+        this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Elements of {@code body.<field>}, where the field holds an array or a string containing
+     * one. Buffers are released as they are consumed.
+     */
+    public static Flux<JsonNode> elements(Flux<DataBuffer> body, String field, ObjectMapper mapper) {
+        return Flux.defer(() -> {
+            JsonArrayStreamer streamer;
+            try {
+                streamer = new JsonArrayStreamer(mapper, field);
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            return body.concatMapIterable(streamer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(streamer.finish())));
+        });
+    }
+
+    private List<JsonNode> feed(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            if (done) return List.of();
+            feeder.feedInput(bytes, 0, bytes.length);
+            return drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private List<JsonNode> finish() {
+        try {
+            feeder.endOfInput();
+            List<JsonNode> rest = done ? List.of() : drain();
+            parser.close();
+            return rest;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<JsonNode> drain() throws IOException {
+        List<JsonNode> out = new ArrayList<>();
+        JsonToken token;
+        while (!done && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (element != null) {
+                element.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    elementDepth++;
+                } else if (token.isStructEnd() && --elementDepth == 0) {
+                    out.add(mapper.readTree(element.asParser()));
+                    element = null;
+                }
+                continue;
+            }
+            if (inArray) {
+                if (token == JsonToken.END_ARRAY) {
+                    done = true;
+                } else {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentEvent(parser);
+                    if (token.isStructStart()) {
+                        elementDepth = 1;
+                    } else {
+                        out.add(mapper.readTree(element.asParser()));
+                        element = null;
+                    }
+                }
+                continue;
+            }
+            if (awaitingValue) {
+                awaitingValue = false;
+                if (token == JsonToken.START_ARRAY) {
+                    inArray = true;
+                    continue;
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    readEmbedded(parser.getText(), out);
+                    done = true;
+                    continue;
+                }
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            } else if (token == JsonToken.FIELD_NAME && depth == 1 && field.equals(parser.currentName())) {
+                awaitingValue = true;
+            }
+        }
+        return out;
+    }
+
+    // Array serialized into a string field: stream its elements with a blocking parser
+    private void readEmbedded(String json, List<JsonNode> out) throws IOException {
+        try (JsonParser p = mapper.getFactory().createParser(json)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) return;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                out.add(mapper.readTree(p));
+            }
+        }
+    }
+}
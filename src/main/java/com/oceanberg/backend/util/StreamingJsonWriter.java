@@ -0,0 +1,52 @@
+package com.oceanberg.backend.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes rows to a response as they are produced, one JSON document per row, so nothing but
+ * the row being written is held. The first row is flushed on its own to get bytes to the
+ * client immediately; after that the output is flushed every {@link #FLUSH_EVERY} rows.
+ */
+public final class StreamingJsonWriter {
+
+    public enum Format {
+        /** application/x-ndjson: one document per line. */
+        NDJSON,
+        /** text/event-stream: one "data:" event per row, then an "end" event with the count. */
+        SSE
+    }
+
+    static final int FLUSH_EVERY = 256;
+
+    private StreamingJsonWriter() {
+    }
+
+    /**
+     * Writes every row and returns how many were written. The output stream is left open.
+     */
+    public static long write(Iterator<?> rows, OutputStream out, ObjectMapper mapper, Format format) throws IOException {
+        // Flushing is ours to pace, not once per row
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);      // rows are framed by the newlines below
+            while (rows.hasNext()) {
+                if (format == Format.SSE) generator.writeRaw("data: ");
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw(format == Format.SSE ? "\n\n" : "\n");
+                if (++count == 1 || count % FLUSH_EVERY == 0) generator.flush();
+            }
+            if (format == Format.SSE) generator.writeRaw("event: end\ndata: " + count + "\n\n");
+            generator.flush();
+        }
+        return count;
+    }
+}
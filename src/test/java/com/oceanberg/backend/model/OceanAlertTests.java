@@ -0,0 +1,17 @@
+package com.oceanberg.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OceanAlertTests {
+
+    @Test
+    void searchKeyCollapsesAnyWhiteSpace() {
+        assertEquals("high wave", OceanAlert.searchKey("  HIGH   Wave "));
+        assertEquals("high wave", OceanAlert.searchKey("\tHigh\u00A0\n Wave\u2003"));
+        assertEquals("tamil nadu", OceanAlert.searchKey("Tamil\u00A0Nadu"));
+        assertEquals("", OceanAlert.searchKey(" \u00A0 "));
+        assertNull(OceanAlert.searchKey(null));
+    }
+}
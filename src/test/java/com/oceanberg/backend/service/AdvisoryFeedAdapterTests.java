@@ -0,0 +1,98 @@
+package com.oceanberg.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdvisoryFeedAdapterTests {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final GeoResolver geoResolver = mock(GeoResolver.class);
+    private final AdvisoryLocator locator = new AdvisoryLocator(geoResolver);
+
+    AdvisoryFeedAdapterTests() {
+        when(geoResolver.districts()).thenReturn(List.<String[]>of(
+                new String[]{"Chennai", "Tamil Nadu"}, new String[]{"Tiruvallur", "Tamil Nadu"}));
+    }
+
+    @Test
+    void sameAdvisoryAcrossAnHourIsStoredOnce() throws Exception {
+        JsonNode advisory = mapper.readTree("""
+                {"Alert": "High Wave Alert", "Color": "Orange", "Issue Date": "17-10-2026",
+                 "Message": "High waves in the range of 2.5 - 3.0 meters are forecasted for the coast of Chennai, Tamil Nadu."}
+                """);
+        List<OceanAlert> first = adapterAt("2026-10-17T10:59:00").toAlerts(advisory);
+        List<OceanAlert> second = adapterAt("2026-10-17T11:01:00").toAlerts(advisory);
+
+        assertEquals(LocalDateTime.of(2026, 10, 17, 0, 0), first.get(0).getIssueDate());
+        assertEquals(AlertPersistenceService.fingerprint(first.get(0)), AlertPersistenceService.fingerprint(second.get(0)));
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.getConverter()).thenReturn(mock(MongoConverter.class));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OceanAlert.class))).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0,
+                List.of(new BulkWriteUpsert(0, new BsonObjectId())), List.of()));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AlertPersistenceService persistence = new AlertPersistenceService(mongoTemplate,
+                new AlertFingerprintCache(mongoTemplate, 6, 1_000, registry),
+                new AlertQueryCache(1_000, 5, registry), registry);
+
+        assertEquals(1, persistence.saveNew(first));
+        assertEquals(0, persistence.saveNew(second));
+        verify(bulk, times(1)).execute();
+    }
+
+    @Test
+    void readsIssueDatesWithAndWithoutTime() {
+        assertEquals(LocalDateTime.of(2026, 10, 17, 17, 30), AdvisoryFeedAdapter.parseIssueDate("17-10-2026 17:30"));
+        assertEquals(LocalDateTime.of(2026, 10, 17, 17, 30), AdvisoryFeedAdapter.parseIssueDate("17:30 hours on 17-10-2026"));
+        assertEquals(LocalDateTime.of(2026, 10, 17, 0, 0), AdvisoryFeedAdapter.parseIssueDate("2026-10-17"));
+        assertNull(AdvisoryFeedAdapter.parseIssueDate("yesterday"));
+    }
+
+    @Test
+    void missingIssueDateIsStampedNow() throws Exception {
+        JsonNode advisory = mapper.readTree("""
+                {"Alert": "Current Alert", "Color": "Yellow", "Message": "Strong currents along the coast of Chennai."}
+                """);
+        OceanAlert alert = adapterAt("2026-10-17T10:59:00").toAlerts(advisory).get(0);
+        assertEquals(LocalDateTime.of(2026, 10, 17, 10, 59), alert.getIssueDate());
+    }
+
+    private AdvisoryFeedAdapter adapterAt(String localTime) {
+        Instant instant = LocalDateTime.parse(localTime).atZone(IST).toInstant();
+        return new AdvisoryFeedAdapter(null, locator, "High Wave", "HWAJson", Clock.fixed(instant, IST)) {
+            @Override
+            public String name() {
+                return "high_wave";
+            }
+
+            @Override
+            public String url() {
+                return "http://localhost/hwa";
+            }
+        };
+    }
+}
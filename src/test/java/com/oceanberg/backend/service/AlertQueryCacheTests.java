@@ -0,0 +1,119 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.dto.AlertPage;
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertQueryCacheTests {
+
+    private static final String QUERY = "{\"typeKey\": \"high wave\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AlertQueryCache cache = new AlertQueryCache(1_000, 5, registry);
+
+    @Test
+    void repeatedQueryIsReadOnce() {
+        AtomicInteger reads = new AtomicInteger();
+        Supplier<AlertPage> loader = () -> page(reads.incrementAndGet());
+
+        AlertPage first = cache.get(QUERY, 100, loader);
+        assertSame(first, cache.get(QUERY, 100, loader));
+        assertEquals(1, reads.get());
+
+        // Another limit is another page
+        cache.get(QUERY, 50, loader);
+        assertEquals(2, reads.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void alertsChangedDropsEveryPage() {
+        AtomicInteger reads = new AtomicInteger();
+        Supplier<AlertPage> loader = () -> page(reads.incrementAndGet());
+
+        cache.get(QUERY, 100, loader);
+        cache.alertsChanged();
+        cache.get(QUERY, 100, loader);
+        assertEquals(2, reads.get());
+        assertEquals(1, cache.version());
+        assertEquals(1.0, registry.get("alerts.query.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void pageReadDuringAWriteIsNotServedAfterIt() {
+        AtomicInteger reads = new AtomicInteger();
+        // Alerts committed while this read was running
+        AlertPage stale = cache.get(QUERY, 100, () -> {
+            cache.alertsChanged();
+            return page(reads.incrementAndGet());
+        });
+        AlertPage fresh = cache.get(QUERY, 100, () -> page(reads.incrementAndGet()));
+        assertNotSame(stale, fresh);
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void concurrentRequestsShareOneRead() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<AlertPage> slowLoader = () -> {
+            reads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return page(1);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AlertPage>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) results.add(pool.submit(() -> cache.get(QUERY, 100, slowLoader)));
+            Thread.sleep(100);
+            release.countDown();
+            AlertPage first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<AlertPage> result : results) assertSame(first, result.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void failedReadIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(QUERY, 100, () -> {
+            throw new IllegalStateException("database down");
+        }));
+        AlertPage page = cache.get(QUERY, 100, () -> page(1));
+        assertEquals(1, page.getSize());
+    }
+
+    @Test
+    void exposesHitRateSizeAndEvictionMeters() {
+        cache.get(QUERY, 100, () -> page(1));
+        cache.get(QUERY, 100, () -> page(1));
+        assertEquals(0.5, registry.get("alerts.query.cache.hit.ratio").gauge().value());
+        assertNotNull(registry.get("cache.size").tag("cache", "alerts.query").gauge());
+        assertNotNull(registry.get("cache.evictions").tag("cache", "alerts.query").functionCounter());
+        assertNotNull(registry.get("cache.gets").tag("cache", "alerts.query").tag("result", "hit").functionCounter());
+    }
+
+    private static AlertPage page(int n) {
+        List<OceanAlert> items = List.of(OceanAlert.builder().id(String.valueOf(n)).build());
+        return AlertPage.builder().items(items).size(items.size()).build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.oceanberg.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oceanberg.backend.model.OceanAlert;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CycloneFeedAdapterTests {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final CycloneFeedAdapter adapter = new CycloneFeedAdapter(null, null);
+
+    @Test
+    void pointIsStampedWithItsOwnTime() throws Exception {
+        List<OceanAlert> alerts = adapter.toAlerts(point("2024-11-30 14:30"));
+        assertEquals(1, alerts.size());
+        assertEquals(LocalDateTime.of(2024, 11, 30, 14, 30), alerts.get(0).getIssueDate());
+        assertEquals("FENGAL", alerts.get(0).getDetails().get("storm"));
+    }
+
+    @Test
+    void pointWithUnreadableTimeIsSkipped() throws Exception {
+        assertTrue(adapter.toAlerts(point("sometime on Saturday")).isEmpty());
+        assertTrue(adapter.toAlerts(point("")).isEmpty());
+    }
+
+    private static JsonNode point(String dateTime) throws Exception {
+        return mapper.readTree("""
+                {"type": "Feature", "geometry": {"type": "Point", "coordinates": [80.3, 12.1]},
+                 "properties": {"Date_Time": "%s", "Category": "CS", "Status": "Forecast", "Wind_Speed": "45"}}
+                """.formatted(dateTime));
+    }
+}
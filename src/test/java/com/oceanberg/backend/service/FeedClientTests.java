@@ -0,0 +1,81 @@
+package com.oceanberg.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedClientTests {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String BODY = "{\"CurrentsJson\": \"[]\"}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FeedClient feedClient = new FeedClient(WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.incrementAndGet();
+                if (ETAG.equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                    return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+                }
+                // The body arrives in two buffers
+                byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+                Flux<DataBuffer> body = Flux.just(
+                        DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, 0, 10)),
+                        DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, 10, bytes.length)));
+                return Mono.just(ClientResponse.create(HttpStatus.OK).header(HttpHeaders.ETAG, ETAG).body(body).build());
+            })
+            .build(), registry);
+
+    @Test
+    void bodyIsPassedOnBufferByBuffer() {
+        List<String> buffers = feedClient.stream("currents", "http://localhost/currents")
+                .map(FeedClientTests::text)
+                .collectList().block();
+        assertEquals(2, buffers.size());
+        assertEquals(BODY, String.join("", buffers));
+    }
+
+    @Test
+    void notModifiedFeedIsSkipped() {
+        assertEquals(BODY, read());
+        assertNull(read());
+        assertEquals(2, requests.get());
+        assertEquals(1.0, registry.get("incois.feed.unchanged").tag("reason", "not_modified").counter().count());
+    }
+
+    @Test
+    void invalidatedFeedIsReadAgain() {
+        assertNotNull(read());
+        feedClient.invalidate("currents");
+        assertEquals(BODY, read());
+    }
+
+    // The whole body, or null when the feed was unchanged
+    private String read() {
+        DataBuffer joined = DataBufferUtils.join(feedClient.stream("currents", "http://localhost/currents")).block();
+        return joined == null ? null : text(joined);
+    }
+
+    private static String text(DataBuffer buffer) {
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
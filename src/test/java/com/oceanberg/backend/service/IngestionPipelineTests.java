@@ -0,0 +1,76 @@
+package com.oceanberg.backend.service;
+
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IngestionPipelineTests {
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final FeedClient feedClient = mock(FeedClient.class);
+
+    // Never sends anything, like a host that accepted the connection and hung
+    private final FeedAdapter<String> hung = new FeedAdapter<>() {
+        @Override
+        public String name() {
+            return "hung";
+        }
+
+        @Override
+        public String url() {
+            return "http://localhost/hung";
+        }
+
+        @Override
+        public Flux<String> fetch() {
+            return Flux.<String>never().doOnCancel(() -> cancelled.set(true));
+        }
+
+        @Override
+        public List<OceanAlert> toAlerts(String item) {
+            return List.of();
+        }
+    };
+
+    private final IngestionPipeline pipeline = new IngestionPipeline(List.of(hung), mock(GeoResolver.class),
+            mock(AlertPersistenceService.class), feedClient, new SimpleMeterRegistry(), 16, 1, 16, 1, 16, 1);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void timeoutCancelsTheRun() {
+        FeedResult result = pipeline.run("hung");
+        assertTrue(result.isFailed());
+        assertInstanceOf(TimeoutException.class, result.failure());
+        assertTrue(cancelled.get(), "the fetch was left running");
+        verify(feedClient).invalidate("hung");
+    }
+
+    @Test
+    void feedRunsOnceAtATime() {
+        CompletableFuture<FeedResult> first = pipeline.execute("hung").toFuture();
+        assertFalse(first.isDone());
+
+        // Skipped while the first run hangs, without touching the feed
+        FeedResult second = pipeline.run("hung");
+        assertTrue(second.isQuiet());
+        verify(feedClient, never()).invalidate("hung");
+
+        // Free again once the first run has ended
+        assertTrue(first.join().isFailed());
+        assertTrue(pipeline.run("hung").isFailed());
+    }
+}
@@ -0,0 +1,290 @@
+package com.oceanberg.backend.service;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.oceanberg.backend.dto.AlertPage;
+import com.oceanberg.backend.model.OceanAlert;
+import com.oceanberg.backend.util.AlertCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Query plans of alert search and paging against a real MongoDB: every search must be answered
+ * from an index, never a collection scan, and pages must come in index order. Key searches must
+ * use the search-key indexes; geo searches over an area with few alerts must use the geo index.
+ * Needs a server at OCEANBERG_TEST_MONGO_URI (default mongodb://localhost:27017) and is
+ * skipped without one.
+ */
+class OceanAlertSearchIndexTests {
+
+    private static final String DATABASE = "oceanberg_search_index_test";
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static OceanAlertQueryService queryService;
+
+    @BeforeAll
+    static void setUp() {
+        String uri = System.getenv().getOrDefault("OCEANBERG_TEST_MONGO_URI", "mongodb://localhost:27017");
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(1, TimeUnit.SECONDS))
+                .build());
+        try {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            assumeTrue(false, "No MongoDB at " + uri);
+        }
+
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.dropCollection(OceanAlert.class);
+
+        // Enough rows that a collection scan is never the cheaper plan
+        List<OceanAlert> alerts = new ArrayList<>();
+        String[][] places = {{"Chennai", "Tamil Nadu"}, {"PURI", "ODISHA"}, {"Kochi", "Kerala"}, {"udupi", "karnataka"}};
+        double[][] positions = {{13.08, 80.29}, {19.81, 85.83}, {9.93, 76.27}, {13.34, 74.75}};
+        String[] types = {"High Wave", "Tsunami", "Ocean Current", "Storm Surge", "Swell Surge"};
+        String[] colors = {"Yellow", "ORANGE", "red"};
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 2_000; i++) {
+            String[] place = places[i % places.length];
+            alerts.add(OceanAlert.builder()
+                    .type(types[i % types.length])
+                    .color(colors[i % colors.length])
+                    .district(place[0])
+                    .state(place[1])
+                    .latitude(positions[i % positions.length][0])
+                    .longitude(positions[i % positions.length][1])
+                    .issueDate(now.minusHours(i))
+                    .source("TEST")
+                    .build()
+                    .withSearchKeys()
+                    .withLocation());
+        }
+        // A few old ones far from the rest, so an area search there is cheapest through the geo index
+        for (int i = 0; i < 5; i++) {
+            alerts.add(OceanAlert.builder()
+                    .type("High Wave")
+                    .color("Yellow")
+                    .district("South Andaman")
+                    .state("Andaman and Nicobar Islands")
+                    .latitude(11.62)
+                    .longitude(92.73)
+                    .issueDate(now.minusYears(1).minusHours(i))
+                    .source("TEST")
+                    .build()
+                    .withSearchKeys()
+                    .withLocation());
+        }
+        mongoTemplate.insert(alerts, OceanAlert.class);
+        // One stored before search keys and locations existed
+        mongoTemplate.getCollection("ocean_alerts").insertOne(new Document("type", "  HIGH\u00A0\t Wave\n")
+                .append("color", "Red").append("district", "Kochi").append("state", "KERALA")
+                .append("latitude", 9.93).append("longitude", 76.27)
+                .append("issueDate", now));
+
+        queryService = new OceanAlertQueryService(mongoTemplate,
+                new AlertQueryCache(50_000, 5, new SimpleMeterRegistry()), 100, 500);
+        queryService.ensureSearchIndexes();
+        queryService.ensureGeoIndex();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client == null) return;
+        if (mongoTemplate != null) mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Test
+    void backfillDerivesKeysOfOlderAlerts() {
+        Document legacy = mongoTemplate.getCollection("ocean_alerts")
+                .find(new Document("district", "Kochi").append("source", null)).first();
+        assertNotNull(legacy);
+        assertEquals("high wave", legacy.getString("typeKey"));
+        assertEquals("red", legacy.getString("colorKey"));
+        assertEquals("kochi", legacy.getString("districtKey"));
+        assertEquals("kerala", legacy.getString("stateKey"));
+    }
+
+    @Test
+    void searchMatchesAnyCaseAndEscapesNothing() {
+        List<OceanAlert> found = queryService.searchAlerts("high WAVE", " tamil  nadu", null, null, "yellow", null, 500)
+                .getItems();
+        assertFalse(found.isEmpty());
+        for (OceanAlert alert : found) {
+            assertEquals("High Wave", alert.getType());
+            assertEquals("Tamil Nadu", alert.getState());
+            assertEquals("Yellow", alert.getColor());
+        }
+        // Regex metacharacters are plain text now
+        assertTrue(queryService.searchAlerts(".*", null, null, null, null, null, null).getItems().isEmpty());
+    }
+
+    @Test
+    void typeAndColorSearchUsesTypeColorIndex() {
+        assertIndexScan(searchQuery("Tsunami", null, LocalDateTime.now().minusDays(7), null, "RED"),
+                "type_color_issueDate_id");
+    }
+
+    @Test
+    void districtOrStateSearchUsesKeyIndexes() {
+        Document plan = assertIndexScan(searchQuery(null, "Puri", null, null, null), "district_issueDate_id");
+        assertTrue(indexNames(plan).stream().anyMatch(name -> name.startsWith("state_")), plan.toJson());
+    }
+
+    @Test
+    void highSeveritySearchUsesTypeColorIndex() {
+        assertIndexScan(OceanAlertQueryService.highSeverityQuery(), "type_color_issueDate_id");
+    }
+
+    @Test
+    void pagesFollowTheCursorThroughEveryAlertOnce() {
+        List<String> seen = new ArrayList<>();
+        LocalDateTime previous = null;
+        String cursor = null;
+        do {
+            AlertPage page = queryService.listByType("high wave", cursor, 37);
+            assertTrue(page.getSize() <= 37);
+            for (OceanAlert alert : page.getItems()) {
+                if (previous != null && alert.getIssueDate() != null) {
+                    assertFalse(alert.getIssueDate().isAfter(previous), "newest first");
+                }
+                previous = alert.getIssueDate();
+                seen.add(alert.getId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        long expected = mongoTemplate.count(Query.query(Criteria.where("typeKey").is("high wave")), OceanAlert.class);
+        assertEquals(expected, seen.size());
+        assertEquals(expected, seen.stream().distinct().count());
+    }
+
+    @Test
+    void pageOfCursorListingUsesIndexOrderWithoutSort() {
+        AlertPage first = queryService.listByState("Kerala", null, 50);
+        Query next = new Query(new Criteria().andOperator(
+                Criteria.where("stateKey").is("kerala"),
+                OceanAlertQueryService.after(AlertCursor.decode(first.getNextCursor()))))
+                .with(Sort.by(Sort.Direction.DESC, "issueDate", "_id")).limit(51);
+        Document plan = assertIndexScan(next, "state_");
+        List<String> stages = new ArrayList<>();
+        collect(plan, "stage", stages);
+        assertFalse(stages.contains("SORT"), plan.toJson());
+    }
+
+    @Test
+    void backfillDerivesLocationOfOlderAlerts() {
+        Document legacy = mongoTemplate.getCollection("ocean_alerts")
+                .find(new Document("district", "Kochi").append("source", null)).first();
+        assertNotNull(legacy);
+        Document location = legacy.get("location", Document.class);
+        assertEquals("Point", location.getString("type"));
+        assertEquals(List.of(76.27, 9.93), location.getList("coordinates", Double.class));
+    }
+
+    @Test
+    void nearReturnsOnlyAlertsInTheRadius() {
+        AlertPage page = queryService.listNear(13.0, 80.2, 50, "high wave", null, null, null, null, 500);
+        assertFalse(page.getItems().isEmpty());
+        for (OceanAlert alert : page.getItems()) {
+            assertEquals("Chennai", alert.getDistrict());
+            assertEquals("High Wave", alert.getType());
+        }
+    }
+
+    @Test
+    void withinFollowsTheCursorThroughTheViewport() {
+        // Kerala and Karnataka, not Tamil Nadu or Odisha
+        int seen = 0;
+        String cursor = null;
+        do {
+            AlertPage page = queryService.listWithin(8, 74, 14, 77, null, null, null, "red", cursor, 100);
+            for (OceanAlert alert : page.getItems()) {
+                assertTrue(alert.getDistrict().equals("Kochi") || alert.getDistrict().equals("udupi"), alert.getDistrict());
+                assertEquals("red", OceanAlert.searchKey(alert.getColor()));
+            }
+            seen += page.getSize();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        long expected = mongoTemplate.count(Query.query(Criteria.where("colorKey").is("red")
+                .and("districtKey").in("kochi", "udupi")), OceanAlert.class);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void geoSearchUsesTheGeoIndex() {
+        // Hundreds of high waves elsewhere, five around Port Blair: the type-led indexes would
+        // have to walk them all, so the geo index must win the plan race
+        Query viewport = new Query(new Criteria().andOperator(
+                OceanAlertQueryService.within(11, 92, 12.5, 93.5),
+                Criteria.where("typeKey").is("high wave")))
+                .with(Sort.by(Sort.Direction.DESC, "issueDate", "_id")).limit(101);
+        assertIndexScan(viewport, "location_type_color_issueDate");
+
+        Query near = new Query(new Criteria().andOperator(
+                OceanAlertQueryService.near(11.6, 92.7, 50),
+                Criteria.where("typeKey").is("high wave"),
+                Criteria.where("colorKey").is("yellow")))
+                .with(Sort.by(Sort.Direction.DESC, "issueDate", "_id")).limit(101);
+        assertIndexScan(near, "location_type_color_issueDate");
+        assertEquals(5, mongoTemplate.count(near, OceanAlert.class));
+    }
+
+    private static Query searchQuery(String type, String districtOrState, LocalDateTime start, LocalDateTime end, String color) {
+        return new Query(new Criteria().andOperator(
+                OceanAlertQueryService.searchCriteria(type, districtOrState, start, end, color)));
+    }
+
+    private static Document assertIndexScan(Query query, String index) {
+        Document explain = mongoTemplate.getCollection("ocean_alerts")
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .limit(query.getLimit())
+                .explain();
+        Document plan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        List<String> stages = new ArrayList<>();
+        collect(plan, "stage", stages);
+        assertFalse(stages.contains("COLLSCAN"), plan.toJson());
+        assertTrue(stages.contains("IXSCAN"), plan.toJson());
+        assertTrue(indexNames(plan).stream().anyMatch(name -> name.startsWith(index)), plan.toJson());
+        return plan;
+    }
+
+    private static List<String> indexNames(Document plan) {
+        List<String> names = new ArrayList<>();
+        collect(plan, "indexName", names);
+        return names;
+    }
+
+    // Values of the key anywhere in the plan tree (inputStage, inputStages, queryPlan, ...)
+    private static void collect(Object node, String key, List<String> values) {
+        if (node instanceof Document doc) {
+            doc.forEach((k, v) -> {
+                if (k.equals(key) && v instanceof String s) values.add(s);
+                else collect(v, key, values);
+            });
+        } else if (node instanceof List<?> list) {
+            for (Object item : list) collect(item, key, values);
+        }
+    }
+}
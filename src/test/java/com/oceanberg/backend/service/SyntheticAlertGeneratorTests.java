@@ -0,0 +1,85 @@
+package com.oceanberg.backend.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.oceanberg.backend.dto.SyntheticJob;
+import com.oceanberg.backend.model.OceanAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SyntheticAlertGeneratorTests {
+
+    private final List<OceanAlert> stored = new ArrayList<>();
+    private final SyntheticAlertGenerator generator;
+
+    SyntheticAlertGeneratorTests() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OceanAlert.class))).thenReturn(bulk);
+        List<OceanAlert> pending = new ArrayList<>();
+        when(bulk.insert(anyList())).thenAnswer(call -> {
+            pending.addAll(call.getArgument(0));
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(call -> {
+            int inserted = pending.size();
+            stored.addAll(pending);
+            pending.clear();
+            return BulkWriteResult.acknowledged(inserted, 0, 0, 0, List.of(), List.of());
+        });
+
+        GeoResolver geoResolver = mock(GeoResolver.class);
+        when(geoResolver.resolveDistrictStates(any(), any())).thenAnswer(call -> {
+            String[][] offshore = new String[call.<double[]>getArgument(0).length][];
+            for (int i = 0; i < offshore.length; i++) offshore[i] = new String[]{"Offshore", "Offshore"};
+            return offshore;
+        });
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        generator = new SyntheticAlertGenerator(mongoTemplate, geoResolver, new AlertQueryCache(1_000, 5, registry),
+                registry, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void nothingIsIssuedAfterTheWindow() {
+        // A one-day window: most cyclone tracks and advisory re-issues would run into the future
+        long count = generator.generate(7, 5_000, 1);
+        assertEquals(count, stored.size());
+        assertTrue(count > 0);
+        LocalDateTime end = LocalDate.now().atStartOfDay();
+        for (OceanAlert alert : stored) {
+            assertFalse(alert.getIssueDate().isAfter(end), alert.getType() + " issued " + alert.getIssueDate());
+        }
+    }
+
+    @Test
+    void submittedRunIsPolledToCompletion() throws Exception {
+        SyntheticJob job = generator.submit(42, 2_000, 30);
+        assertNotNull(job.getId());
+
+        SyntheticJob latest = job;
+        for (int i = 0; i < 500 && latest.getFinishedAt() == null; i++) {
+            Thread.sleep(10);
+            latest = generator.job(job.getId()).orElseThrow();
+        }
+        assertEquals(SyntheticJob.Status.DONE, latest.getStatus());
+        assertEquals(stored.size(), latest.getStored());
+        assertTrue(generator.job("no-such-run").isEmpty());
+    }
+}
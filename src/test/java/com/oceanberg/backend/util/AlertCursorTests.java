@@ -0,0 +1,32 @@
+package com.oceanberg.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertCursorTests {
+
+    @Test
+    void roundTripsThroughItsToken() {
+        AlertCursor cursor = new AlertCursor(LocalDateTime.of(2024, 12, 2, 17, 30, 5, 123_000_000), "674d9e3f2a1b4c0012ab34cd");
+        String token = cursor.encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "URL-safe: " + token);
+        assertEquals(cursor, AlertCursor.decode(token));
+    }
+
+    @Test
+    void roundTripsWithoutIssueDate() {
+        AlertCursor cursor = new AlertCursor(null, "674d9e3f2a1b4c0012ab34cd");
+        assertEquals(cursor, AlertCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void rejectsTokensItDidNotMake() {
+        assertThrows(IllegalArgumentException.class, () -> AlertCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> AlertCursor.decode("MnwyMDI0fGFiYw"));         // "2|2024|abc"
+        assertThrows(IllegalArgumentException.class, () -> AlertCursor.decode("MXxub3QtYS1kYXRlfGFiYw")); // "1|not-a-date|abc"
+        assertThrows(IllegalArgumentException.class, () -> AlertCursor.decode("MXx8"));                   // "1||"
+    }
+}
@@ -0,0 +1,85 @@
+package com.oceanberg.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BprStationReaderTests {
+
+    private static final String STATIONS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <stations>
+              <station status="Reporting">
+                <statname>TB12</statname><statrealName>Andaman Sea</statrealName>
+                <country>India</country><owner>INCOIS</owner><colorClass>green</colorClass>
+                <date>2025-Sep-16 07:00</date><latitude>10.5</latitude><longitude>94.2</longitude>
+              </station>
+              <station status="Not Reporting">
+                <statname>TB09</statname>
+                <extra><note>ignored</note></extra>
+                <date>not a date</date><latitude></latitude><longitude>x</longitude>
+              </station>
+            </stations>
+            """;
+
+    @Test
+    void readsEveryStationInOnePass() throws Exception {
+        List<BprStation> stations = BprStationReader.read(new StringReader(STATIONS));
+        assertEquals(2, stations.size());
+
+        BprStation reporting = stations.get(0);
+        assertEquals("Reporting", reporting.status());
+        assertEquals("TB12", reporting.code());
+        assertEquals("Andaman Sea", reporting.realName());
+        assertEquals("India", reporting.country());
+        assertEquals("INCOIS", reporting.owner());
+        assertEquals("green", reporting.colorClass());
+        assertEquals("2025-Sep-16 07:00", reporting.rawDate());
+        assertEquals(LocalDateTime.of(2025, 9, 16, 7, 0).atZone(ZoneId.systemDefault()).toInstant(), reporting.time());
+        assertEquals(10.5, reporting.latitude());
+        assertEquals(94.2, reporting.longitude());
+
+        BprStation silent = stations.get(1);
+        assertEquals("Not Reporting", silent.status());
+        assertEquals("TB09", silent.code());
+        assertEquals("", silent.owner());
+        assertNull(silent.time());
+        assertEquals(0, silent.latitude());
+        assertEquals(0, silent.longitude());
+    }
+
+    @Test
+    void streamsStationsAsTheBodyArrives() {
+        List<BprStation> stations = BprStationReader.stream(Flux.fromIterable(chunks(STATIONS, 7))).collectList().block();
+        assertEquals(List.of("TB12", "TB09"), stations.stream().map(BprStation::code).toList());
+
+        // The first station is out while the rest of the body has yet to arrive
+        String head = STATIONS.substring(0, STATIONS.indexOf("<station status=\"Not"));
+        BprStation first = BprStationReader.stream(Flux.concat(Flux.fromIterable(chunks(head, 16)), Flux.never()))
+                .next().block(Duration.ofSeconds(5));
+        assertEquals("TB12", first.code());
+
+        assertTrue(BprStationReader.stream(Flux.empty()).collectList().block().isEmpty());
+    }
+
+    private static List<DataBuffer> chunks(String text, int size) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += size) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, from, Math.min(from + size, bytes.length))));
+        }
+        return buffers;
+    }
+}
@@ -0,0 +1,175 @@
+package com.oceanberg.backend.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gazetteer matching against the bundled districtpolygons.geojson, and its throughput
+ * against the "for the coast of" phrase extraction it replaced. Numbers are printed rather
+ * than asserted.
+ */
+class DistrictGazetteerTests {
+
+    // Shaped like the HWAJson / CurrentsJson "Message" texts: single- and multi-district
+    // advisories, alternate spellings, state-wide ones and ones that name no place at all
+    private static final String[] ADVISORIES = {
+            "High waves in the range of 2.5 - 3.0 meters are forecasted during 17:30 hours on 02-12-2024 to 23:30 hours of 03-12-2024 for the coast of Chennai, Tamil Nadu.",
+            "Swell Surge Alert: High waves of 1.5 - 2.2 m are forecasted for the coast of Kanniyakumari, Tamil Nadu from 05:30 hours on 15-05-2024 to 23:30 hours of 16-05-2024.",
+            "High waves in the range of 2.8 - 3.3 meters are forecasted for the coast of Kollam, Alappuzha, Ernakulam and Thrissur districts of Kerala.",
+            "Fishermen are advised not to venture into the sea along the coast of Kasargod, Kannur and Kozhikode during the forecast period.",
+            "Ocean currents with speeds varying between 60 - 95 cm/sec are forecasted for the coast of Mumbai, Raigad and Ratnagiri, Maharashtra.",
+            "High waves in the range of 3.0 - 3.5 meters are forecasted for the coast of Puri, Ganjam and Balasore of Orissa.",
+            "High waves are forecasted along the entire coast of Gujarat during 17-06-2024 to 19-06-2024.",
+            "Swell surge expected along the coast of Valsad and Junagadh, Gujarat. Small vessels are advised to be cautious.",
+            "High waves of 2.0 - 2.5 m forecast for North Goa and South Goa, Goa.",
+            "High wave alert for Port Blair, Havelock and Little Andaman of Andaman & Nicobar Islands.",
+            "Ocean currents of 80 - 120 cm/sec are forecasted for the coast of Pondicherry and Karaikal.",
+            "Sea will be rough to very rough. Fishermen are advised not to venture into the sea.",
+            "High waves forecasted for the coast of Visakhapatnam, Srikakulam and East Godavari (Kakinada) of Andhra Pradesh.",
+            "Swell surge alert for Lakshadweep islands: Kavaratti, Agatti, Amini and Minicoy.",
+            "HIGH WAVES OF 2.5 - 3.2 M ARE FORECAST FOR THE COAST OF SOUTH 24 PARGANAS AND PURBA MEDINIPUR, WEST BENGAL."
+    };
+
+    private static DistrictGazetteer gazetteer;
+
+    @BeforeAll
+    static void setUp() {
+        gazetteer = DistrictGazetteer.build(GeoUtil.index().districts());
+    }
+
+    @Test
+    void findsEveryDistrictOfMultiDistrictAdvisory() {
+        assertPlaces(ADVISORIES[2],
+                "KOLLAM", "KERALA", "ALAPPUZHA", "KERALA", "ERNAKULAM", "KERALA", "THRISSUR", "KERALA");
+        assertPlaces(ADVISORIES[14],
+                "SOUTH 24 PARGANAS", "WEST BENGAL", "PURBA MEDINIPUR", "WEST BENGAL");
+    }
+
+    @Test
+    void longestNameWins() {
+        assertPlaces(ADVISORIES[8], "NORTH GOA", "GOA", "SOUTH GOA", "GOA");
+        assertPlaces("Rough sea along Daman and Diu.", "UNKNOWN", "DAMAN AND DIU");
+    }
+
+    @Test
+    void resolvesAliasesAndCompositeNames() {
+        assertPlaces(ADVISORIES[3],
+                "KASARAGOD, KANNUR", "KERALA", "KANNUR", "KERALA", "KOZHIKODE", "KERALA");
+        assertPlaces(ADVISORIES[4],
+                "THANE, MUMBAI SUBURBAN, MUMBAI CITY", "MAHARASHTRA", "RAIGARH", "MAHARASHTRA",
+                "RATNAGIRI", "MAHARASHTRA");
+        assertPlaces(ADVISORIES[5],
+                "PURI", "ODISHA", "GANJAM", "ODISHA", "BALESHWAR", "ODISHA");
+        // PUDUCHERRY is a district and a state name; the district places it
+        assertPlaces(ADVISORIES[10], "PUDUCHERRY", "TAMIL NADU", "KARAIKAL", "TAMIL NADU");
+    }
+
+    @Test
+    void splitDistrictStemNamesBothHalves() {
+        Set<String> found = new HashSet<>();
+        for (String[] place : gazetteer.find(ADVISORIES[7])) found.add(place[0] + ", " + place[1]);
+        assertEquals(Set.of("VALSAD NORTH, GUJARAT", "VALSAD SOUTH, GUJARAT",
+                "JUNAGADH NORTH, GUJARAT", "JUNAGADH SOUTH, GUJARAT"), found);
+    }
+
+    @Test
+    void stateAloneYieldsUnknownDistrict() {
+        assertPlaces(ADVISORIES[6], "UNKNOWN", "GUJARAT");
+        assertPlaces(ADVISORIES[11]);
+        assertPlaces(null);
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        // "PURI" inside "PURIFIED", "DIU" inside "MEDIUM"
+        assertPlaces("Purified water and medium-range forecasts.");
+    }
+
+    @Test
+    void findThroughputAgainstCoastPhrase() {
+        int messages = 200_000;
+        double phrase = measure(messages, true);
+        double gazetteered = measure(messages, false);
+
+        int phraseKnown = 0;
+        int gazetteerPlaces = 0;
+        for (String advisory : ADVISORIES) {
+            if (!"UNKNOWN".equals(extractCoastPhrase(advisory)[0])) phraseKnown++;
+            gazetteerPlaces += gazetteer.find(advisory).size();
+        }
+        System.out.printf("advisory locations: coast phrase %.0f msgs/s, gazetteer %.0f msgs/s (%.1fx); "
+                        + "%d of %d messages placed by the phrase, %d places found by the gazetteer (%d names)%n",
+                phrase, gazetteered, gazetteered / phrase, phraseKnown, ADVISORIES.length, gazetteerPlaces,
+                gazetteer.size());
+    }
+
+    private static double measure(int messages, boolean phrase) {
+        // One untimed pass for JIT warm-up, then a timed pass
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < messages; i++) {
+                String advisory = ADVISORIES[i % ADVISORIES.length];
+                found += phrase ? extractCoastPhrase(advisory).length : gazetteer.find(advisory).size();
+            }
+            long elapsed = System.nanoTime() - start;
+            assertTrue(found > 0);
+            if (pass == 1) return messages / (elapsed / 1e9);
+        }
+        return 0;
+    }
+
+    private static void assertPlaces(String text, String... districtStates) {
+        List<String[]> found = gazetteer.find(text);
+        assertEquals(districtStates.length / 2, found.size(), text);
+        for (int i = 0; i < found.size(); i++) {
+            assertArrayEquals(new String[]{districtStates[2 * i], districtStates[2 * i + 1]}, found.get(i), text);
+        }
+    }
+
+    // Previous extraction: the text between "for the coast of " and the next " from " or ".",
+    // split at the first comma into {district, state}
+    private static String[] extractCoastPhrase(String message) {
+        if (message == null || message.isBlank()) {
+            return new String[]{"UNKNOWN", "UNKNOWN"};
+        }
+
+        String searchText = "for the coast of ";
+        String lowerMsg = message.toLowerCase();
+
+        int startIndex = lowerMsg.indexOf(searchText);
+        if (startIndex == -1) {
+            return new String[]{"UNKNOWN", "UNKNOWN"};
+        }
+
+        int extractStart = startIndex + searchText.length();
+        int fromIndex = lowerMsg.indexOf(" from ", extractStart);
+        int dotIndex = lowerMsg.indexOf(".", extractStart);
+
+        int extractEnd;
+        if (fromIndex != -1 && dotIndex != -1) {
+            extractEnd = Math.min(fromIndex, dotIndex);
+        } else if (fromIndex != -1) {
+            extractEnd = fromIndex;
+        } else if (dotIndex != -1) {
+            extractEnd = dotIndex;
+        } else {
+            extractEnd = message.length();
+        }
+
+        String[] parts = message.substring(extractStart, extractEnd).trim().split(",");
+        if (parts.length >= 2) {
+            return new String[]{parts[0].trim().toUpperCase(), parts[1].trim().toUpperCase()};
+        } else if (parts.length == 1) {
+            return new String[]{parts[0].trim().toUpperCase(), "UNKNOWN"};
+        } else {
+            return new String[]{"UNKNOWN", "UNKNOWN"};
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.oceanberg.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistrictGeoJsonReaderTests {
+
+    private static final String SQUARE = "[[80, 13], [81, 13], [81, 14], [80, 14], [80, 13]]";
+
+    @Test
+    void emptyAndDegenerateRingsAreDropped() throws IOException {
+        List<DistrictShape> shapes = read(
+                feature("Chennai", "Polygon", "[[]]"),
+                feature("Kochi", "Polygon", "[" + SQUARE + ", [[80.2, 13.2], [80.4, 13.4]], []]"),
+                feature("Puri", "MultiPolygon", "[[" + SQUARE + "], [[]]]"));
+        // Chennai has no usable ring left, so it is not a district at all
+        assertEquals(2, shapes.size());
+
+        Polygon kochi = (Polygon) shapes.get(0).geometry();
+        assertEquals(0, kochi.getNumInteriorRing());
+        assertEquals(1.0, kochi.getArea(), 1e-9);
+
+        assertEquals("Puri", shapes.get(1).district());
+        assertEquals(1, shapes.get(1).geometry().getNumGeometries());
+        assertEquals(1.0, shapes.get(1).geometry().getArea(), 1e-9);
+    }
+
+    @Test
+    void unclosedRingIsClosed() throws IOException {
+        DistrictShape shape = read(feature("Udupi", "Polygon", "[[[74, 13], [75, 13], [75, 14], [74, 14]]]")).get(0);
+        assertTrue(shape.geometry().isValid());
+        assertEquals(1.0, shape.geometry().getArea(), 1e-9);
+    }
+
+    @Test
+    void ringWhereRingsBelongIsReported() {
+        IOException e = assertThrows(IOException.class, () -> read(feature("Kochi", "Polygon", SQUARE)));
+        assertTrue(e.getMessage().contains("Polygon"), e.getMessage());
+    }
+
+    private static String feature(String district, String type, String coordinates) {
+        return """
+                {"type": "Feature", "properties": {"district": "%s", "state": "Test"},
+                 "geometry": {"type": "%s", "coordinates": %s}}""".formatted(district, type, coordinates);
+    }
+
+    private static List<DistrictShape> read(String... features) throws IOException {
+        String json = "{\"type\": \"FeatureCollection\", \"features\": [" + String.join(",", features) + "]}";
+        return new DistrictGeoJsonReader(new GeometryFactory()).read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
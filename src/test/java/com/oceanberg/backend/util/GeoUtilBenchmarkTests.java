@@ -0,0 +1,231 @@
+package com.oceanberg.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.wololo.jts2geojson.GeoJSONReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Micro-benchmarks for the district resolver against the bundled districtpolygons.geojson.
+ * Numbers are printed rather than asserted; the assertions only guard correctness.
+ */
+class GeoUtilBenchmarkTests {
+
+    private static final int POINTS = 2_000;
+    private static final double[][] samples = new double[POINTS][];
+
+    // Shaped like parsed HWA / currents advisories: dataset names in feed casing, a few
+    // unmatched districts that fall back to the state, and unparseable messages
+    private static final String[][] ADVISORY_LOCATIONS = {
+            {"CHENNAI", "TAMIL NADU"}, {"Kanniyakumari", "Tamil Nadu"}, {"RAMANATHAPURAM", "TAMIL NADU"},
+            {"ERNAKULAM", "KERALA"}, {"Thiruvananthapuram", "Kerala"}, {"KOZHIKODE", "KERALA"},
+            {"UDUPI", "KARNATAKA"}, {"DAKSHINA  KANNADA", "KARNATAKA"}, {"NORTH GOA", "GOA"},
+            {"RATNAGIRI", "MAHARASHTRA"}, {"PORBANDAR", "GUJARAT"}, {"KACHCHH", "GUJARAT"},
+            {"PURI", "ODISHA"}, {"GANJAM", "ODISHA"}, {"VISAKHAPATNAM", "ANDHRA PRADESH"},
+            {"SOUTH 24 PARGANAS", "WEST BENGAL"}, {"MAHE", "PUDUCHERRY"}, {"KAVARATTI", "LAKSHADWEEP"},
+            {"KOCHI", "KERALA"}, {"MANGALORE", "KARNATAKA"}, {"UNKNOWN", "UNKNOWN"}
+    };
+    private static final int ADVISORY_BATCH = 500;
+
+    private static LinearDistrictScan linearScan;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // Seeded points over the Indian coastline and adjoining seas: mix of inland, coastal and offshore
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; i++) {
+            double lat = 6 + random.nextDouble() * 18;
+            double lon = 68 + random.nextDouble() * 25;
+            samples[i] = new double[]{lat, lon};
+        }
+        // Warm the polygon load outside of any measurement
+        GeoUtil.resolveDistrictState(13.08, 80.27);
+        linearScan = new LinearDistrictScan(GeoUtil.loadDistrictShapes());
+    }
+
+    @Test
+    void indexedLookupMatchesLinearScan() {
+        for (double[] p : samples) {
+            assertArrayEquals(linearScan.resolve(p[0], p[1]),
+                    GeoUtil.resolveDistrictState(p[0], p[1]),
+                    "lat=" + p[0] + ", lon=" + p[1]);
+        }
+    }
+
+    @Test
+    void uniformCellsAgreeWithPointLookups() {
+        double size = 0.01;
+        Random random = new Random(7);
+        int uniform = 0;
+        for (double[] p : samples) {
+            double minLat = Math.floor(p[0] / size) * size;
+            double minLon = Math.floor(p[1] / size) * size;
+            String[] cell = GeoUtil.index().resolveCell(minLat, minLon, size);
+            if (cell == null) continue;
+            uniform++;
+            for (int i = 0; i < 5; i++) {
+                double lat = minLat + random.nextDouble() * size;
+                double lon = minLon + random.nextDouble() * size;
+                assertArrayEquals(GeoUtil.resolveDistrictState(lat, lon), cell, "lat=" + lat + ", lon=" + lon);
+            }
+        }
+        System.out.printf("resolveCell: %d of %d sampled 0.01° cells resolve uniformly%n", uniform, POINTS);
+    }
+
+    @Test
+    void resolveDistrictStateThroughput() {
+        double linear = measure(true);
+        double indexed = measure(false);
+        System.out.printf("resolveDistrictState: linear scan %.0f lookups/s, indexed %.0f lookups/s (%.1fx)%n",
+                linear, indexed, indexed / linear);
+    }
+
+    @Test
+    void centroidLookupMatchesLinearScanForKnownDistricts() {
+        for (String[] loc : ADVISORY_LOCATIONS) {
+            double[] linear = linearScan.centroid(loc[0], loc[1]);
+            double[] hashed = GeoUtil.getCentroidForDistrict(loc[0], loc[1]);
+            boolean districtKnown = !"UNKNOWN".equals(loc[0]) && !"KOCHI".equals(loc[0]) && !"MANGALORE".equals(loc[0]);
+            if (districtKnown) {
+                assertArrayEquals(linear, hashed, 1e-9, loc[0] + ", " + loc[1]);
+            }
+        }
+        assertArrayEquals(new double[]{0.0, 0.0}, GeoUtil.getCentroidForDistrict("UNKNOWN", "UNKNOWN"));
+    }
+
+    @Test
+    void centroidLookupThroughput() {
+        double linear = measureCentroids(true);
+        double hashed = measureCentroids(false);
+        System.out.printf("getCentroidForDistrict: linear scan %.0f advisories/s, hashed %.0f advisories/s (%.1fx)%n",
+                linear, hashed, hashed / linear);
+    }
+
+    @Test
+    void snapshotRoundTripsAndLoadsFasterThanGeoJson(@TempDir Path dir) throws Exception {
+        byte[] source;
+        try (InputStream is = GeoUtil.findDistrictResource().openStream()) {
+            source = is.readAllBytes();
+        }
+        long modified = 1_700_000_000_000L;
+        Path file = dir.resolve("districtpolygons.snapshot");
+
+        long start = System.nanoTime();
+        List<DistrictShape> parsed = GeoUtil.parseGeoJson(new ByteArrayInputStream(source));
+        long geoJsonNanos = System.nanoTime() - start;
+
+        DistrictSnapshot.write(file, parsed, source.length, modified);
+
+        start = System.nanoTime();
+        List<DistrictShape> mapped = DistrictSnapshot.read(file, source.length, modified, new GeometryFactory());
+        long snapshotNanos = System.nanoTime() - start;
+
+        assertNotNull(mapped);
+        assertEquals(parsed.size(), mapped.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertEquals(parsed.get(i).district(), mapped.get(i).district());
+            assertEquals(parsed.get(i).state(), mapped.get(i).state());
+            assertTrue(parsed.get(i).geometry().equalsExact(mapped.get(i).geometry()));
+        }
+        // A snapshot built from another source version must be ignored
+        assertNull(DistrictSnapshot.read(file, source.length, modified + 1, new GeometryFactory()));
+
+        System.out.printf("district geometry load: GeoJSON %.1f ms, mapped snapshot %.1f ms%n",
+                geoJsonNanos / 1e6, snapshotNanos / 1e6);
+    }
+
+    @Test
+    void streamingLoaderMatchesTreeParseWithLessAllocation() throws Exception {
+        byte[] source;
+        try (InputStream is = GeoUtil.findDistrictResource().openStream()) {
+            source = is.readAllBytes();
+        }
+        // Warm both paths once so class loading and JIT don't skew the first measurement
+        parseWithTree(source);
+        GeoUtil.parseGeoJson(new ByteArrayInputStream(source));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        long bytes = threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        List<Geometry> tree = parseWithTree(source);
+        long treeNanos = System.nanoTime() - start;
+        long treeBytes = threads.getThreadAllocatedBytes(tid) - bytes;
+
+        bytes = threads.getThreadAllocatedBytes(tid);
+        start = System.nanoTime();
+        List<DistrictShape> streamed = GeoUtil.parseGeoJson(new ByteArrayInputStream(source));
+        long streamNanos = System.nanoTime() - start;
+        long streamBytes = threads.getThreadAllocatedBytes(tid) - bytes;
+
+        assertEquals(tree.size(), streamed.size());
+        for (int i = 0; i < tree.size(); i++) {
+            assertTrue(tree.get(i).equalsExact(streamed.get(i).geometry()), "feature " + i);
+        }
+        assertTrue(streamBytes < treeBytes);
+
+        System.out.printf("district GeoJSON load: tree+re-parse %.1f ms / %.1f MB allocated, streaming %.1f ms / %.1f MB allocated%n",
+                treeNanos / 1e6, treeBytes / 1e6, streamNanos / 1e6, streamBytes / 1e6);
+    }
+
+    // The loader this replaced: whole-document tree, then each geometry re-serialized and re-parsed
+    private static List<Geometry> parseWithTree(byte[] source) throws Exception {
+        String text;
+        try (InputStream is = GeoUtil.decompressIfNeeded(new ByteArrayInputStream(source))) {
+            text = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        GeoJSONReader reader = new GeoJSONReader();
+        List<Geometry> geometries = new ArrayList<>();
+        for (JsonNode feature : new ObjectMapper().readTree(text).path("features")) {
+            geometries.add(reader.read(feature.path("geometry").toString()));
+        }
+        return geometries;
+    }
+
+    private static double measureCentroids(boolean linear) {
+        int batches = linear ? 20 : 2_000;
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            for (int b = 0; b < batches; b++) {
+                for (int i = 0; i < ADVISORY_BATCH; i++) {
+                    String[] loc = ADVISORY_LOCATIONS[i % ADVISORY_LOCATIONS.length];
+                    if (linear) linearScan.centroid(loc[0], loc[1]);
+                    else GeoUtil.getCentroidForDistrict(loc[0], loc[1]);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            if (pass == 1) return batches * ADVISORY_BATCH / (elapsed / 1e9);
+        }
+        return 0;
+    }
+
+    private static double measure(boolean linear) {
+        // One untimed pass for JIT warm-up, then a timed pass
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            for (double[] p : samples) {
+                if (linear) linearScan.resolve(p[0], p[1]);
+                else GeoUtil.resolveDistrictState(p[0], p[1]);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (pass == 1) return POINTS / (elapsed / 1e9);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.oceanberg.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayStreamerTests {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final String TRACK = """
+            {"type":"FeatureCollection","name":"track","crs":{"properties":{"features":"not these"}},
+             "features":[
+              {"type":"Feature","properties":{"Category":"SCS","Wind_Speed":"55"},"geometry":{"type":"Point","coordinates":[82.1,12.4]}},
+              {"type":"Feature","properties":{"Category":"CS","nested":[[1,2],[3]]},"geometry":{"type":"Point","coordinates":[81.6,12.9]}},
+              {"type":"Feature","properties":{},"geometry":{"type":"Point","coordinates":[80.4,13.0]}}
+             ],
+             "trailing":{"ignored":true}}
+            """;
+
+    @Test
+    void streamsFeatureElementsWhateverTheChunking() throws Exception {
+        List<JsonNode> expected = new ArrayList<>();
+        mapper.readTree(TRACK).path("features").forEach(expected::add);
+
+        for (int chunk : new int[]{1, 2, 3, 7, 64, TRACK.length()}) {
+            List<JsonNode> streamed = JsonArrayStreamer.elements(chunks(TRACK, chunk), "features", mapper)
+                    .collectList().block();
+            assertEquals(expected, streamed, "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    void streamsArrayEmbeddedInStringField() throws Exception {
+        List<JsonNode> advisories = List.of(
+                mapper.readTree("{\"Message\":\"for the coast of Chennai, Tamil Nadu.\",\"Color\":\"Orange\"}"),
+                mapper.readTree("{\"Message\":\"for the coast of Puri, Odisha.\",\"Color\":\"Yellow\"}"));
+        String body = mapper.writeValueAsString(
+                mapper.createObjectNode().put("HWAJson", mapper.writeValueAsString(advisories)));
+
+        for (int chunk : new int[]{1, 5, body.length()}) {
+            assertEquals(advisories, JsonArrayStreamer.elements(chunks(body, chunk), "HWAJson", mapper)
+                    .collectList().block(), "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    void missingFieldYieldsNothing() {
+        assertEquals(List.of(), JsonArrayStreamer.elements(chunks("{\"other\":[1,2]}", 4), "features", mapper)
+                .collectList().block());
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + size))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
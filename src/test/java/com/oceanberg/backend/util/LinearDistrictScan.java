@@ -0,0 +1,69 @@
+package com.oceanberg.backend.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+import java.util.List;
+
+/**
+ * Reference implementations the district index replaced: exact distance to every polygon, and
+ * a per-call normalize-and-scan for centroids. Used to validate {@link DistrictIndex} and as
+ * the baseline in {@link GeoUtilBenchmarkTests}.
+ */
+final class LinearDistrictScan {
+
+    // Same cutoff as DistrictIndex: 500 km ≈ 4.5° (roughly)
+    private static final double OFFSHORE_CUTOFF_DEGREES = 4.5;
+
+    private final List<DistrictShape> shapes;
+    private final GeometryFactory geometryFactory = new GeometryFactory();
+
+    LinearDistrictScan(List<DistrictShape> shapes) {
+        this.shapes = shapes;
+    }
+
+    String[] resolve(double lat, double lon) {
+        Point pt = geometryFactory.createPoint(new Coordinate(lon, lat));
+
+        DistrictShape best = null;
+        double bestDistance = Double.MAX_VALUE;
+
+        for (DistrictShape s : shapes) {
+            double distance = s.geometry().distance(pt);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = s;
+            }
+        }
+
+        if (best == null || bestDistance > OFFSHORE_CUTOFF_DEGREES) {
+            return new String[]{"Offshore", "Offshore"};
+        }
+        return new String[]{best.district(), best.state()};
+    }
+
+    double[] centroid(String district, String state) {
+        // Normalize inputs
+        String normDistrict = district.trim().replaceAll("\\s+", " ").toUpperCase();
+        String normState = state.trim().replaceAll("\\s+", " ").toUpperCase();
+
+        for (DistrictShape s : shapes) {
+            if (s.district().trim().replaceAll("\\s+", " ").toUpperCase().equals(normDistrict)
+                    && s.state().trim().replaceAll("\\s+", " ").toUpperCase().equals(normState)) {
+                Coordinate c = s.geometry().getCentroid().getCoordinate();
+                return new double[]{c.y, c.x};
+            }
+        }
+
+        // ✅ fallback: try only by state centroid
+        for (DistrictShape s : shapes) {
+            if (s.state().trim().replaceAll("\\s+", " ").toUpperCase().equals(normState)) {
+                Coordinate c = s.geometry().getCentroid().getCoordinate();
+                return new double[]{c.y, c.x};
+            }
+        }
+
+        return new double[]{0.0, 0.0};
+    }
+}
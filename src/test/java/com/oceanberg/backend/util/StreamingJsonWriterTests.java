@@ -0,0 +1,133 @@
+package com.oceanberg.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.oceanberg.backend.model.OceanAlert;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonWriterTests {
+
+    private static final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void writesOneDocumentPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = StreamingJsonWriter.write(alerts(3), out, mapper, StreamingJsonWriter.Format.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, rows);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Chennai " + i, mapper.readTree(lines[i]).path("district").asText());
+            assertFalse(lines[i].startsWith(" "));
+        }
+    }
+
+    @Test
+    void writesServerSentEventsEndingWithCount() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingJsonWriter.write(alerts(2), out, mapper, StreamingJsonWriter.Format.SSE);
+
+        String[] events = out.toString(StandardCharsets.UTF_8).split("\n\n");
+        assertEquals(3, events.length);
+        assertTrue(events[0].startsWith("data: {"));
+        assertEquals("Chennai 1", mapper.readTree(events[1].substring("data: ".length())).path("district").asText());
+        assertEquals("event: end\ndata: 2", events[2]);
+    }
+
+    @Test
+    void firstRowReachesTheClientBeforeTheNextIsRead() throws Exception {
+        FlushRecorder out = new FlushRecorder();
+        Iterator<OceanAlert> source = alerts(StreamingJsonWriter.FLUSH_EVERY * 2);
+        Iterator<OceanAlert> watched = new Iterator<>() {
+            int read;
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public OceanAlert next() {
+                if (read++ == 1) assertTrue(out.flushedBytes > 0, "first row not flushed before the second was read");
+                return source.next();
+            }
+        };
+        StreamingJsonWriter.write(watched, out, mapper, StreamingJsonWriter.Format.NDJSON);
+        // First row, every FLUSH_EVERY rows, and the end (closing the generator flushes once more)
+        assertTrue(out.flushes <= 5, "flushes: " + out.flushes);
+    }
+
+    @Test
+    void streamThroughput() throws Exception {
+        int rows = 200_000;
+        FlushRecorder out = new FlushRecorder();
+        long start = System.nanoTime();
+        StreamingJsonWriter.write(alerts(rows), out, mapper, StreamingJsonWriter.Format.NDJSON);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("StreamingJsonWriter: %d alerts, %.1f MB in %.2f s (%.0f alerts/s), %d flushes%n",
+                rows, out.bytes / 1e6, seconds, rows / seconds, out.flushes);
+    }
+
+    // Alerts made on demand, so nothing but the current one exists
+    private static Iterator<OceanAlert> alerts(int count) {
+        LocalDateTime now = LocalDateTime.of(2024, 12, 2, 17, 30);
+        return new Iterator<>() {
+            int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            @Override
+            public OceanAlert next() {
+                int n = i++;
+                return OceanAlert.builder()
+                        .id(String.format("%024x", n))
+                        .type("High Wave")
+                        .district("Chennai " + n)
+                        .state("Tamil Nadu")
+                        .color("Orange")
+                        .message("High waves in the range of 2.5 - 3.0 meters are forecasted for the coast of Chennai, Tamil Nadu.")
+                        .issueDate(now.minusMinutes(n))
+                        .latitude(13.08)
+                        .longitude(80.29)
+                        .details(Map.of("alert", "High Wave Alert"))
+                        .build();
+            }
+        };
+    }
+
+    private static final class FlushRecorder extends OutputStream {
+        long bytes;
+        long flushedBytes;
+        int flushes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+            flushedBytes = bytes;
+        }
+    }
+}